@@ -33,6 +33,8 @@ android {
 
     buildFeatures {
         viewBinding = true
+        // 디버그 전용 화면(성능 지표) 진입 여부
+        buildConfig = true
     }
 }
 
@@ -45,9 +47,8 @@ dependencies {
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
-    // Retrofit
-    implementation("com.squareup.retrofit2:retrofit:2.9.0")
-    implementation("com.squareup.retrofit2:converter-gson:2.9.0")
+    // 날씨 엔진 (Retrofit, Gson 포함)
+    implementation(project(":engine"))
 
     // Google Play Services Location
     implementation("com.google.android.gms:play-services-location:21.3.0")
@@ -55,6 +56,13 @@ dependencies {
     // Picasso for image loading
     implementation("com.squareup.picasso:picasso:2.8")
 
-    // Gson
-    implementation("com.google.code.gson:gson:2.11.0")
+    // RecyclerView (저장된 주소 목록)
+    implementation("androidx.recyclerview:recyclerview:1.4.0")
+
+    // Lifecycle (ViewModel, LiveData)
+    implementation("androidx.lifecycle:lifecycle-viewmodel:2.8.7")
+    implementation("androidx.lifecycle:lifecycle-livedata:2.8.7")
+
+    // WorkManager (백그라운드 날씨 새로고침)
+    implementation("androidx.work:work-runtime:2.10.0")
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * 예전 SharedPreferences JSON 방식과 SavedLocationStore 의 불러오기/추가/삭제 시간을
+ * 저장된 주소 10개, 1천 개, 1만 개에서 비교한다. 결과는 계측 상태(instrumentation status)로 출력된다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SavedLocationStoreBenchmark {
+    private static final String DATABASE_NAME = "saved_locations_benchmark.db";
+    private static final String PREFS_NAME = "saved_locations_benchmark";
+    private static final int[] SIZES = {10, 1_000, 10_000};
+
+    private Context context;
+    private SavedLocationStore store;
+    private SharedPreferences preferences;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+        store = new SavedLocationStore(context, DATABASE_NAME);
+        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+        context.deleteDatabase(DATABASE_NAME);
+        preferences.edit().clear().commit();
+    }
+
+    @Test
+    public void compareLoadAndMutate() throws Exception {
+        for (int size : SIZES) {
+            List<SavedLocation> locations = generate(size);
+            SavedLocation extra = newLocation(size);
+
+            // 예전 방식: 추가/삭제마다 전체 배열을 다시 쓰고, 불러올 때 전체를 파싱
+            preferences.edit().putString("saved_locations", SavedLocationJson.serialize(locations)).commit();
+            long start = SystemClock.elapsedRealtimeNanos();
+            List<SavedLocation> parsed = SavedLocationJson.parse(preferences.getString("saved_locations", "[]"));
+            long jsonLoad = SystemClock.elapsedRealtimeNanos() - start;
+
+            start = SystemClock.elapsedRealtimeNanos();
+            parsed.add(0, extra);
+            preferences.edit().putString("saved_locations", SavedLocationJson.serialize(parsed)).commit();
+            parsed.remove(0);
+            preferences.edit().putString("saved_locations", SavedLocationJson.serialize(parsed)).commit();
+            long jsonMutate = SystemClock.elapsedRealtimeNanos() - start;
+
+            // 새 방식: 행 단위 추가/삭제, saved_at 인덱스 순서로 불러오기
+            store.clear();
+            store.insertAll(locations);
+            start = SystemClock.elapsedRealtimeNanos();
+            List<SavedLocation> loaded = store.loadAll();
+            long storeLoad = SystemClock.elapsedRealtimeNanos() - start;
+
+            start = SystemClock.elapsedRealtimeNanos();
+            store.insert(extra);
+            store.delete(extra.id);
+            long storeMutate = SystemClock.elapsedRealtimeNanos() - start;
+
+            assertEquals(size, parsed.size());
+            assertEquals(size, loaded.size());
+            report(size, jsonLoad, jsonMutate, storeLoad, storeMutate);
+        }
+    }
+
+    private void report(int size, long jsonLoad, long jsonMutate, long storeLoad, long storeMutate) {
+        Bundle results = new Bundle();
+        results.putString("stream", String.format(Locale.US,
+                "n=%d json(load=%.2fms, mutate=%.2fms) store(load=%.2fms, mutate=%.2fms)%n",
+                size, jsonLoad / 1e6, jsonMutate / 1e6, storeLoad / 1e6, storeMutate / 1e6));
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+    }
+
+    private static List<SavedLocation> generate(int size) {
+        List<SavedLocation> locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            locations.add(newLocation(i));
+        }
+        return locations;
+    }
+
+    private static SavedLocation newLocation(int index) {
+        return new SavedLocation(UUID.randomUUID().toString(), "서울특별시 중구 " + index + "번지",
+                33.0 + (index % 500) * 0.01, 126.0 + (index / 500) * 0.01, 1_700_000_000_000L + index);
+    }
+}
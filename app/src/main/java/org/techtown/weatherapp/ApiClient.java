@@ -1,23 +0,0 @@
-package org.techtown.weatherapp;
-
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
-
-public class ApiClient {
-    private static final String BASE_URL = "https://api.openweathermap.org/data/2.5/";
-    private static Retrofit retrofit = null;
-
-    public static Retrofit getClient() {
-        if (retrofit == null) {
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
-        }
-        return retrofit;
-    }
-
-    public static WeatherService getWeatherService() {
-        return getClient().create(WeatherService.class);
-    }
-}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package org.techtown.weatherapp;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 기온 구간별 캐릭터 그림(degree*.png)을 UI 스레드 밖에서 ImageView 크기에 맞게 줄여 디코딩한다.
+ * 디코딩한 비트맵은 구간 단위 LRU 캐시에 두고, 이웃 구간은 미리 디코딩해 둔다.
+ */
+class CharacterImageLoader {
+    private static final int MAX_CACHE_BYTES = 6 * 1024 * 1024;
+
+    private final ImageView target;
+    private final Resources resources;
+    private final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<TemperatureBand, Bitmap> cache;
+    private TemperatureBand requestedBand = null;
+
+    CharacterImageLoader(ImageView target) {
+        this.target = target;
+        this.resources = target.getResources();
+        int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 16, MAX_CACHE_BYTES);
+        this.cache = new LruCache<TemperatureBand, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(TemperatureBand key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+    }
+
+    void load(TemperatureBand band) {
+        if (band == requestedBand) {
+            return;
+        }
+        requestedBand = band;
+
+        Bitmap cached = cache.get(band);
+        if (cached != null) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.CHARACTER_CACHE_HIT);
+            target.setImageBitmap(cached);
+            prefetchNeighbors(band, targetWidth(), targetHeight());
+            return;
+        }
+
+        PerfMetrics.get().increment(PerfMetrics.Counter.CHARACTER_CACHE_MISS);
+        int width = targetWidth();
+        int height = targetHeight();
+        decodeExecutor.execute(() -> {
+            Bitmap bitmap = decode(band, width, height);
+            mainHandler.post(() -> {
+                // 디코딩하는 동안 다른 구간이 요청됐으면 버린다 (캐시에는 남긴다)
+                if (band != requestedBand) {
+                    return;
+                }
+                if (bitmap != null) {
+                    target.setImageBitmap(bitmap);
+                } else {
+                    // 디코딩에 실패했으면 다음 요청 때 다시 시도한다
+                    requestedBand = null;
+                }
+            });
+            prefetchNeighbors(band, width, height);
+        });
+    }
+
+    void release() {
+        decodeExecutor.shutdownNow();
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
+    // 디코딩 스레드에서도 불리므로 View 크기는 메인 스레드에서 읽어 넘겨받는다
+    private void prefetchNeighbors(TemperatureBand band, int width, int height) {
+        TemperatureBand[] bands = TemperatureBand.values();
+        for (int offset : new int[]{-1, 1}) {
+            int index = band.ordinal() + offset;
+            if (index < 0 || index >= bands.length || cache.get(bands[index]) != null) {
+                continue;
+            }
+            TemperatureBand neighbor = bands[index];
+            decodeExecutor.execute(() -> decode(neighbor, width, height));
+        }
+    }
+
+    private Bitmap decode(TemperatureBand band, int reqWidth, int reqHeight) {
+        Bitmap cached = cache.get(band);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        int resId = drawableFor(band);
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resId, options);
+
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        } catch (OutOfMemoryError e) {
+            bitmap = null;
+        }
+        if (bitmap != null) {
+            cache.put(band, bitmap);
+        }
+        PerfMetrics.get().record(PerfMetrics.Stage.IMAGE_DECODE, System.nanoTime() - start);
+        return bitmap;
+    }
+
+    // 결과가 요청 크기보다 작아지지 않는 가장 큰 2의 거듭제곱
+    static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int sampleSize = 1;
+        if (reqWidth <= 0 || reqHeight <= 0) {
+            return sampleSize;
+        }
+        while (width / (sampleSize * 2) >= reqWidth && height / (sampleSize * 2) >= reqHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private int targetWidth() {
+        if (target.getWidth() > 0) {
+            return target.getWidth();
+        }
+        ViewGroup.LayoutParams params = target.getLayoutParams();
+        return params != null ? params.width : 0;
+    }
+
+    private int targetHeight() {
+        if (target.getHeight() > 0) {
+            return target.getHeight();
+        }
+        ViewGroup.LayoutParams params = target.getLayoutParams();
+        return params != null ? params.height : 0;
+    }
+
+    static int drawableFor(TemperatureBand band) {
+        switch (band) {
+            case DEGREE_0:
+                return R.drawable.degree0;
+            case DEGREE_4:
+                return R.drawable.degree4;
+            case DEGREE_5:
+                return R.drawable.degree5;
+            case DEGREE_9:
+                return R.drawable.degree9;
+            case DEGREE_12:
+                return R.drawable.degree12;
+            case DEGREE_17:
+                return R.drawable.degree17;
+            case DEGREE_20:
+                return R.drawable.degree20;
+            case DEGREE_23:
+                return R.drawable.degree23;
+            default:
+                return R.drawable.degree28;
+        }
+    }
+}
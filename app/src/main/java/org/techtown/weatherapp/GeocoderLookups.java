@@ -0,0 +1,117 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.location.Address;
+import android.location.Geocoder;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Geocoder 호출을 GeocodeScheduler.Lookup 으로 만든다.
+ * API 33 이상에서는 비동기 GeocodeListener 를, 그 아래에서는 동기 호출을 쓴다.
+ */
+final class GeocoderLookups {
+    private GeocoderLookups() {
+    }
+
+    static GeocodeScheduler.Lookup<List<Address>> reverse(Context context, double latitude,
+                                                          double longitude, Locale locale) {
+        return done -> {
+            Geocoder geocoder = new Geocoder(context, locale);
+            GeocodeScheduler.Completion<List<Address>> timed = timed(done);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                geocoder.getFromLocation(latitude, longitude, 1, listener(timed));
+            } else {
+                timed.onResult(geocoder.getFromLocation(latitude, longitude, 1));
+            }
+        };
+    }
+
+    /** 주소 문자열 → 좌표가 정해진 후보들 (최대 maxResults 개). */
+    static GeocodeScheduler.Lookup<List<AddressSuggestion>> forward(Context context, String query,
+                                                                   int maxResults, Locale locale) {
+        return done -> {
+            Geocoder geocoder = new Geocoder(context, locale);
+            GeocodeScheduler.Completion<List<Address>> timed = timed(suggestions(query, done));
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                geocoder.getFromLocationName(query, maxResults, listener(timed));
+            } else {
+                timed.onResult(geocoder.getFromLocationName(query, maxResults));
+            }
+        };
+    }
+
+    @RequiresApi(Build.VERSION_CODES.TIRAMISU)
+    private static Geocoder.GeocodeListener listener(GeocodeScheduler.Completion<List<Address>> done) {
+        return new Geocoder.GeocodeListener() {
+            @Override
+            public void onGeocode(List<Address> addresses) {
+                done.onResult(addresses);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                done.onError(new IOException(errorMessage));
+            }
+        };
+    }
+
+    private static GeocodeScheduler.Completion<List<Address>> suggestions(
+            String query, GeocodeScheduler.Completion<List<AddressSuggestion>> done) {
+        return new GeocodeScheduler.Completion<List<Address>>() {
+            @Override
+            public void onResult(List<Address> addresses) {
+                List<AddressSuggestion> suggestions = new ArrayList<>();
+                if (addresses != null) {
+                    for (Address address : addresses) {
+                        if (address.hasLatitude() && address.hasLongitude()) {
+                            suggestions.add(new AddressSuggestion(displayName(address, query),
+                                    address.getLatitude(), address.getLongitude()));
+                        }
+                    }
+                }
+                done.onResult(suggestions);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.onError(t);
+            }
+        };
+    }
+
+    private static String displayName(Address address, String fallback) {
+        String line = address.getAddressLine(0);
+        if (line == null || line.isEmpty()) {
+            line = address.getSubLocality();
+        }
+        if (line == null || line.isEmpty()) {
+            line = fallback;
+        }
+        return line;
+    }
+
+    private static GeocodeScheduler.Completion<List<Address>> timed(
+            GeocodeScheduler.Completion<List<Address>> done) {
+        long start = System.nanoTime();
+        return new GeocodeScheduler.Completion<List<Address>>() {
+            @Override
+            public void onResult(List<Address> result) {
+                PerfMetrics.get().record(PerfMetrics.Stage.GEOCODE, System.nanoTime() - start);
+                done.onResult(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                PerfMetrics.get().record(PerfMetrics.Stage.GEOCODE, System.nanoTime() - start);
+                done.onError(t);
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 숨겨진 성능 지표 화면. 디버그 빌드에서 메인 화면의 도시 이름을 길게 누르면 열린다.
+ */
+public class MetricsActivity extends AppCompatActivity {
+    private TextView summaryView;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setTitle("성능 지표");
+
+        int padding = (int) (16 * getResources().getDisplayMetrics().density);
+        LinearLayout root = new LinearLayout(this);
+        root.setOrientation(LinearLayout.VERTICAL);
+        root.setPadding(padding, padding, padding, padding);
+
+        LinearLayout buttons = new LinearLayout(this);
+        buttons.setOrientation(LinearLayout.HORIZONTAL);
+        Button exportButton = new Button(this);
+        exportButton.setText("JSON 내보내기");
+        exportButton.setOnClickListener(v -> exportJson());
+        Button resetButton = new Button(this);
+        resetButton.setText("초기화");
+        resetButton.setOnClickListener(v -> {
+            PerfMetrics.get().reset();
+            render();
+        });
+        buttons.addView(exportButton);
+        buttons.addView(resetButton);
+        root.addView(buttons);
+
+        summaryView = new TextView(this);
+        summaryView.setTypeface(Typeface.MONOSPACE);
+        summaryView.setTextSize(12);
+        summaryView.setTextIsSelectable(true);
+        ScrollView scrollView = new ScrollView(this);
+        scrollView.addView(summaryView);
+        root.addView(scrollView, new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT, 0, 1f));
+
+        setContentView(root);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        render();
+    }
+
+    private void render() {
+        summaryView.setText(PerfMetrics.get().summary() + '\n' + ApiClient.quotaBudget().describe());
+    }
+
+    // adb pull 로 꺼낼 수 있도록 앱 전용 외부 저장소에 쓴다. 파일 쓰기는 IO 스레드에서
+    private void exportJson() {
+        String json = PerfMetrics.get().toJson();
+        Context appContext = getApplicationContext();
+        WeatherViewModel.IO_EXECUTOR.execute(() -> {
+            File dir = appContext.getExternalFilesDir(null);
+            if (dir == null) {
+                dir = appContext.getFilesDir();
+            }
+            File file = new File(dir, "metrics-" + System.currentTimeMillis() + ".json");
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                writer.write(json);
+                showToast(appContext, "저장됨: " + file.getAbsolutePath(), Toast.LENGTH_LONG);
+            } catch (IOException e) {
+                showToast(appContext, "내보내기 실패: " + e.getMessage(), Toast.LENGTH_SHORT);
+            }
+        });
+    }
+
+    private static void showToast(Context context, String text, int duration) {
+        ContextCompat.getMainExecutor(context).execute(() -> Toast.makeText(context, text, duration).show());
+    }
+}
@@ -0,0 +1,127 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 역지오코딩 결과(한국어 주소 표시명) 캐시.
+ * geohash 칸 단위로 메모리 LRU 와 SharedPreferences 디스크 계층에 보관한다.
+ * 메모리 계층은 어느 스레드에서나 읽을 수 있고, 디스크 계층(getFromDisk, put)은
+ * 처음 읽을 때 파일 로드를 기다리므로 백그라운드 스레드에서 호출한다.
+ */
+class ReverseGeocodeCache {
+    static final int DEFAULT_PRECISION = 7;
+    private static final String PREFS_NAME = "reverse_geocode_cache";
+    private static final int MEMORY_CAPACITY = 64;
+    private static final int DISK_CAPACITY = 512;
+    private static final char SEPARATOR = '|';
+    // 이만큼 쓸 때마다 디스크 계층을 정리한다 (첫 쓰기 때도 한 번)
+    private static final int TRIM_INTERVAL = DISK_CAPACITY / 4;
+
+    private final SharedPreferences preferences;
+    private final int precision;
+    private final Map<String, String> memory =
+            new LinkedHashMap<String, String>(MEMORY_CAPACITY, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MEMORY_CAPACITY;
+                }
+            };
+    private int writesSinceTrim = TRIM_INTERVAL;
+
+    ReverseGeocodeCache(Context context) {
+        this(context, DEFAULT_PRECISION);
+    }
+
+    ReverseGeocodeCache(Context context, int precision) {
+        // SharedPreferences 는 여기서 비동기로 읽기 시작한다
+        this.preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.precision = precision;
+    }
+
+    /** 메모리 계층만 본다. 없으면 null (실패로 세지 않는다). */
+    String getFromMemory(double latitude, double longitude) {
+        String cell = Geohash.encode(latitude, longitude, precision);
+        synchronized (memory) {
+            String name = memory.get(cell);
+            if (name != null) {
+                PerfMetrics.get().increment(PerfMetrics.Counter.GEOCODE_CACHE_HIT);
+            }
+            return name;
+        }
+    }
+
+    /** 디스크 계층을 보고 찾으면 메모리에 올린다. 백그라운드 스레드에서 호출한다. */
+    String getFromDisk(double latitude, double longitude) {
+        String cell = Geohash.encode(latitude, longitude, precision);
+        String stored = preferences.getString(cell, null);
+        if (stored == null) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.GEOCODE_CACHE_MISS);
+            return null;
+        }
+        PerfMetrics.get().increment(PerfMetrics.Counter.GEOCODE_CACHE_HIT);
+        String name = stored.substring(stored.indexOf(SEPARATOR) + 1);
+        synchronized (memory) {
+            memory.put(cell, name);
+        }
+        return name;
+    }
+
+    void put(double latitude, double longitude, String name) {
+        String cell = Geohash.encode(latitude, longitude, precision);
+        synchronized (memory) {
+            memory.put(cell, name);
+        }
+
+        preferences.edit()
+                .putString(cell, System.currentTimeMillis() + String.valueOf(SEPARATOR) + name)
+                .apply();
+        if (shouldTrim()) {
+            trimDisk();
+        }
+    }
+
+    private synchronized boolean shouldTrim() {
+        if (++writesSinceTrim < TRIM_INTERVAL) {
+            return false;
+        }
+        writesSinceTrim = 0;
+        return true;
+    }
+
+    // 용량을 넘긴 만큼 오래된 항목부터 지운다. 정리 사이에는 TRIM_INTERVAL 만큼 넘칠 수 있다
+    private void trimDisk() {
+        Map<String, ?> all = preferences.getAll();
+        if (all.size() <= DISK_CAPACITY) {
+            return;
+        }
+
+        List<Map.Entry<String, ?>> entries = new ArrayList<>(all.entrySet());
+        Collections.sort(entries, (a, b) -> Long.compare(savedAt(a.getValue()), savedAt(b.getValue())));
+
+        SharedPreferences.Editor editor = preferences.edit();
+        for (int i = 0; i < entries.size() - DISK_CAPACITY; i++) {
+            editor.remove(entries.get(i).getKey());
+        }
+        editor.apply();
+    }
+
+    private static long savedAt(Object value) {
+        if (!(value instanceof String)) {
+            return 0;
+        }
+        String stored = (String) value;
+        int separator = stored.indexOf(SEPARATOR);
+        try {
+            return separator > 0 ? Long.parseLong(stored.substring(0, separator)) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.techtown.weatherapp;
+
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.techtown.weatherapp.databinding.ItemSavedLocationBinding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서랍의 저장된 주소 목록. DiffUtil 로 바뀐 항목만 갱신하고
+ * SavedLocation.id 에서 얻은 안정적인 ID 를 쓴다.
+ */
+class SavedLocationAdapter extends ListAdapter<SavedLocation, SavedLocationAdapter.ViewHolder> {
+    interface OnLocationClickListener {
+        void onLocationClick(SavedLocation location);
+    }
+
+    private static final DiffUtil.ItemCallback<SavedLocation> DIFF = new DiffUtil.ItemCallback<SavedLocation>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull SavedLocation oldItem, @NonNull SavedLocation newItem) {
+            return oldItem.id.equals(newItem.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull SavedLocation oldItem, @NonNull SavedLocation newItem) {
+            return oldItem.label.equals(newItem.label);
+        }
+    };
+
+    private final OnLocationClickListener listener;
+    // 문자열 ID 를 처음 본 순서대로 long 에 대응시킨다 (해시 충돌 없음)
+    private final Map<String, Long> stableIds = new HashMap<>();
+
+    SavedLocationAdapter(OnLocationClickListener listener) {
+        super(DIFF);
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String id = getItem(position).id;
+        Long stableId = stableIds.get(id);
+        if (stableId == null) {
+            stableId = (long) stableIds.size();
+            stableIds.put(id, stableId);
+        }
+        return stableId;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemSavedLocationBinding binding = ItemSavedLocationBinding.inflate(
+                LayoutInflater.from(parent.getContext()), parent, false);
+        ViewHolder holder = new ViewHolder(binding);
+        binding.getRoot().setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                listener.onLocationClick(getItem(position));
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.binding.label.setText(getItem(position).label);
+    }
+
+    static final class ViewHolder extends RecyclerView.ViewHolder {
+        final ItemSavedLocationBinding binding;
+
+        ViewHolder(ItemSavedLocationBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.techtown.weatherapp;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저장된 주소를 한 행씩 보관하는 SQLite 저장소.
+ * 추가/삭제는 해당 행만 쓰고, 목록은 saved_at 인덱스 순서로 읽는다.
+ * 모든 메서드는 디스크를 건드리므로 메인 스레드가 아닌 곳에서 호출해야 한다.
+ */
+class SavedLocationStore extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "saved_locations.db";
+    private static final int DATABASE_VERSION = 1;
+    private static final String TABLE = "saved_locations";
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_LABEL = "label";
+    private static final String COLUMN_LATITUDE = "latitude";
+    private static final String COLUMN_LONGITUDE = "longitude";
+    private static final String COLUMN_SAVED_AT = "saved_at";
+
+    // 예전 JSON 배열이 저장되어 있던 위치
+    private static final String LEGACY_PREFS_NAME = "weather_prefs";
+    private static final String LEGACY_PREF_SAVED_LOCATIONS = "saved_locations";
+
+    private final Context context;
+
+    SavedLocationStore(Context context) {
+        this(context, DATABASE_NAME);
+    }
+
+    SavedLocationStore(Context context, String databaseName) {
+        super(context.getApplicationContext(), databaseName, null, DATABASE_VERSION);
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COLUMN_ID + " TEXT PRIMARY KEY NOT NULL, "
+                + COLUMN_LABEL + " TEXT NOT NULL, "
+                + COLUMN_LATITUDE + " REAL NOT NULL, "
+                + COLUMN_LONGITUDE + " REAL NOT NULL, "
+                + COLUMN_SAVED_AT + " INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_" + TABLE + "_" + COLUMN_SAVED_AT
+                + " ON " + TABLE + " (" + COLUMN_SAVED_AT + " DESC)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+    }
+
+    List<SavedLocation> loadAll() {
+        migrateLegacyPreferences();
+
+        List<SavedLocation> locations = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE,
+                new String[]{COLUMN_ID, COLUMN_LABEL, COLUMN_LATITUDE, COLUMN_LONGITUDE, COLUMN_SAVED_AT},
+                null, null, null, null, COLUMN_SAVED_AT + " DESC")) {
+            while (cursor.moveToNext()) {
+                locations.add(new SavedLocation(
+                        cursor.getString(0),
+                        cursor.getString(1),
+                        cursor.getDouble(2),
+                        cursor.getDouble(3),
+                        cursor.getLong(4)
+                ));
+            }
+        }
+        return locations;
+    }
+
+    void insert(SavedLocation location) {
+        getWritableDatabase().insertWithOnConflict(TABLE, null, toValues(location),
+                SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    void insertAll(List<SavedLocation> locations) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (SavedLocation location : locations) {
+                db.insertWithOnConflict(TABLE, null, toValues(location), SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    void delete(String id) {
+        getWritableDatabase().delete(TABLE, COLUMN_ID + " = ?", new String[]{id});
+    }
+
+    void clear() {
+        getWritableDatabase().delete(TABLE, null, null);
+    }
+
+    // SharedPreferences JSON 배열 → 테이블 (최초 한 번)
+    private void migrateLegacyPreferences() {
+        SharedPreferences preferences = context.getSharedPreferences(LEGACY_PREFS_NAME, Context.MODE_PRIVATE);
+        String raw = preferences.getString(LEGACY_PREF_SAVED_LOCATIONS, null);
+        if (raw == null) {
+            return;
+        }
+
+        if (!raw.isEmpty()) {
+            try {
+                insertAll(SavedLocationJson.parse(raw));
+            } catch (JSONException e) {
+                // 손상된 데이터는 옮기지 않고 버린다
+            }
+        }
+        preferences.edit().remove(LEGACY_PREF_SAVED_LOCATIONS).apply();
+    }
+
+    private static ContentValues toValues(SavedLocation location) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_ID, location.id);
+        values.put(COLUMN_LABEL, location.label);
+        values.put(COLUMN_LATITUDE, location.latitude);
+        values.put(COLUMN_LONGITUDE, location.longitude);
+        values.put(COLUMN_SAVED_AT, location.savedAt);
+        return values;
+    }
+}
@@ -0,0 +1,26 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+
+import java.io.File;
+
+/**
+ * 프로세스 전체에서 하나만 쓰는 WeatherCache.
+ * 화면(WeatherViewModel)과 백그라운드 작업(WeatherRefreshWorker)이 같은 메모리 계층을 봐야
+ * 작업이 받아 둔 날씨를 앱이 바로 쓰고, 같은 디렉터리를 두 인스턴스가 따로 정리하지 않는다.
+ */
+final class SharedWeatherCache {
+    private static final String DIRECTORY_NAME = "weather";
+    private static WeatherCache instance;
+
+    private SharedWeatherCache() {
+    }
+
+    static synchronized WeatherCache get(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            instance = new WeatherCache(new File(appContext.getCacheDir(), DIRECTORY_NAME));
+        }
+        return instance;
+    }
+}
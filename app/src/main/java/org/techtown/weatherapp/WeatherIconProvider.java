@@ -0,0 +1,108 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import androidx.appcompat.content.res.AppCompatResources;
+
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+/**
+ * OpenWeather 아이콘 코드(Weather.getIcon())를 앱에 포함된 벡터 아이콘으로 바꿔 보여준다.
+ * 네트워크 없이 어떤 크기의 ImageView 에도 맞게 그려지며,
+ * 알 수 없는 코드일 때만 원격 이미지를 불러온다.
+ */
+class WeatherIconProvider {
+    private static final Map<String, Integer> BUNDLED_ICONS = new HashMap<>();
+
+    static {
+        BUNDLED_ICONS.put("01d", R.drawable.ic_weather_clear_day);
+        BUNDLED_ICONS.put("01n", R.drawable.ic_weather_clear_night);
+        BUNDLED_ICONS.put("02d", R.drawable.ic_weather_few_clouds_day);
+        BUNDLED_ICONS.put("02n", R.drawable.ic_weather_few_clouds_night);
+        BUNDLED_ICONS.put("03d", R.drawable.ic_weather_scattered_clouds);
+        BUNDLED_ICONS.put("03n", R.drawable.ic_weather_scattered_clouds);
+        BUNDLED_ICONS.put("04d", R.drawable.ic_weather_broken_clouds);
+        BUNDLED_ICONS.put("04n", R.drawable.ic_weather_broken_clouds);
+        BUNDLED_ICONS.put("09d", R.drawable.ic_weather_shower_rain);
+        BUNDLED_ICONS.put("09n", R.drawable.ic_weather_shower_rain);
+        BUNDLED_ICONS.put("10d", R.drawable.ic_weather_rain);
+        BUNDLED_ICONS.put("10n", R.drawable.ic_weather_rain);
+        BUNDLED_ICONS.put("11d", R.drawable.ic_weather_thunderstorm);
+        BUNDLED_ICONS.put("11n", R.drawable.ic_weather_thunderstorm);
+        BUNDLED_ICONS.put("13d", R.drawable.ic_weather_snow);
+        BUNDLED_ICONS.put("13n", R.drawable.ic_weather_snow);
+        BUNDLED_ICONS.put("50d", R.drawable.ic_weather_mist);
+        BUNDLED_ICONS.put("50n", R.drawable.ic_weather_mist);
+    }
+
+    private static volatile Picasso sharedPicasso;
+
+    private final Context context;
+    private final Map<String, Drawable.ConstantState> cache = new HashMap<>();
+
+    WeatherIconProvider(Context context) {
+        this.context = context;
+    }
+
+    // UI 스레드에서 호출
+    void load(String iconCode, ImageView target) {
+        Integer resId = BUNDLED_ICONS.get(iconCode);
+        if (resId == null) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.ICON_REMOTE);
+            installSharedPicasso(context)
+                    .load("https://openweathermap.org/img/wn/" + iconCode + "@4x.png")
+                    .fit()
+                    .centerInside()
+                    .into(target);
+            return;
+        }
+
+        PerfMetrics.get().increment(PerfMetrics.Counter.ICON_BUNDLED);
+
+        // 앞서 시작한 원격 로드가 나중에 덮어쓰지 않도록
+        Picasso picasso = sharedPicasso;
+        if (picasso != null) {
+            picasso.cancelRequest(target);
+        }
+
+        Drawable.ConstantState state = cache.get(iconCode);
+        if (state != null) {
+            target.setImageDrawable(state.newDrawable(context.getResources()));
+            return;
+        }
+
+        Drawable drawable = AppCompatResources.getDrawable(context, resId);
+        if (drawable != null && drawable.getConstantState() != null) {
+            cache.put(iconCode, drawable.getConstantState());
+        }
+        target.setImageDrawable(drawable);
+    }
+
+    /**
+     * ApiClient 의 OkHttpClient(연결 풀, 디스패처, DNS 캐시)를 공유하는 Picasso 를 한 번만 설치한다.
+     * 첫 호출은 백그라운드 스레드에서 하는 것이 좋다.
+     */
+    static synchronized Picasso installSharedPicasso(Context context) {
+        if (sharedPicasso == null) {
+            // 아이콘 다운로드는 API 지연 지표에 섞이지 않게 한다
+            OkHttpClient client = ApiClient.getHttpClient().newBuilder()
+                    .eventListener(EventListener.NONE)
+                    .build();
+            Picasso picasso = new Picasso.Builder(context.getApplicationContext())
+                    .downloader(new OkHttp3Downloader(client))
+                    .build();
+            Picasso.setSingletonInstance(picasso);
+            sharedPicasso = picasso;
+        }
+        return sharedPicasso;
+    }
+}
@@ -0,0 +1,193 @@
+package org.techtown.weatherapp;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.NetworkCapabilities;
+import android.os.BatteryManager;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.io.File;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 앱이 꺼져 있어도 현재 위치(마지막 GPS 좌표)와 저장된 주소 전체의 날씨를 한 번에 받아 캐시를 데운다.
+ * 주기 작업 대신 실행이 끝날 때마다 BackgroundRefreshPolicy 로 다음 간격을 정해 한 번짜리 작업을 다시 건다.
+ * 작업 이름이 하나(UNIQUE_WORK_NAME)라서 여러 곳에서 예약해도 대기 중인 작업은 항상 하나뿐이다.
+ */
+public class WeatherRefreshWorker extends Worker {
+    static final String UNIQUE_WORK_NAME = "weather-background-refresh";
+    private static final String PREFS_NAME = "background_refresh";
+    private static final String KEY_LATITUDE = "last_latitude";
+    private static final String KEY_LONGITUDE = "last_longitude";
+    private static final String KEY_LAST_RUN_AT = "last_run_at";
+    // Worker 는 최대 10분까지 실행될 수 있지만 그 전에 끝낸다
+    private static final long JOB_TIMEOUT_MILLIS = 60 * 1000L;
+
+    public WeatherRefreshWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        BackgroundRefreshPolicy policy = new BackgroundRefreshPolicy(TimeSource.SYSTEM, TimeZone.getDefault());
+        // 앱이 떠 있으면 화면과 같은 인스턴스를 써서 받은 날씨가 바로 메모리 계층에 들어간다
+        WeatherCache cache = SharedWeatherCache.get(context);
+        BackgroundRefreshJob job = createJob(cache);
+        SavedLocation current = lastKnownLocation(context);
+        List<SavedLocation> saved = loadSavedLocations(context);
+
+        SharedPreferences preferences = preferences(context);
+        if (policy.shouldRun(preferences.getLong(KEY_LAST_RUN_AT, 0))) {
+            try {
+                BulkWeatherRefresher.Result result = job.runBlocking(current, saved, JOB_TIMEOUT_MILLIS);
+                if (result != null) {
+                    preferences.edit().putLong(KEY_LAST_RUN_AT, System.currentTimeMillis()).apply();
+                    recordObservations(context, job, cache, current, saved);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Result.retry();
+            }
+        }
+
+        // 이 작업이 끝난 뒤에 이어지도록 APPEND 로 다음 실행을 건다
+        scheduleNext(context, job, policy, current, saved, ExistingWorkPolicy.APPEND_OR_REPLACE);
+        return Result.success();
+    }
+
+    /**
+     * 앱 시작 시 호출. 이미 대기 중인 작업이 있으면 그대로 둔다.
+     * 캐시와 DB 를 읽으므로 백그라운드 스레드에서 호출해야 한다.
+     */
+    static void schedule(Context context) {
+        Context appContext = context.getApplicationContext();
+        scheduleNext(appContext, createJob(SharedWeatherCache.get(appContext)),
+                new BackgroundRefreshPolicy(TimeSource.SYSTEM, TimeZone.getDefault()),
+                lastKnownLocation(appContext), loadSavedLocations(appContext), ExistingWorkPolicy.KEEP);
+    }
+
+    /** 포그라운드에서 GPS 로 날씨를 받은 좌표를 다음 백그라운드 실행의 현재 위치로 쓴다. */
+    static void rememberLocation(Context context, double latitude, double longitude) {
+        preferences(context).edit()
+                .putLong(KEY_LATITUDE, Double.doubleToRawLongBits(latitude))
+                .putLong(KEY_LONGITUDE, Double.doubleToRawLongBits(longitude))
+                .apply();
+    }
+
+    private static void scheduleNext(Context context, BackgroundRefreshJob job, BackgroundRefreshPolicy policy,
+                                     SavedLocation current, List<SavedLocation> saved,
+                                     ExistingWorkPolicy existingWorkPolicy) {
+        long oldestFetchedAt = job.oldestFetchedAt(current, saved);
+        if (oldestFetchedAt < 0) {
+            // 새로 고칠 곳이 없다. 위치가 생기면 앱이 다시 예약한다
+            return;
+        }
+
+        long delay = policy.nextDelayMillis(new BackgroundRefreshPolicy.Conditions(
+                oldestFetchedAt, isCharging(context), networkOf(context)));
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(WeatherRefreshWorker.class)
+                .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .setRequiresBatteryNotLow(true)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK_NAME, existingWorkPolicy, request);
+    }
+
+    // 새로 받은 날씨를 관측 기록에 더하고, 오래된 기록은 이때 줄인다
+    private static void recordObservations(Context context, BackgroundRefreshJob job, WeatherCache cache,
+                                           SavedLocation current, List<SavedLocation> saved) {
+        ObservationHistory history = new ObservationHistory(
+                new File(context.getFilesDir(), WeatherViewModel.OBSERVATIONS_DIR_NAME),
+                cache.getGridDegrees(), TimeZone.getDefault());
+        for (SavedLocation target : job.targets(current, saved)) {
+            WeatherCache.Entry entry = cache.get(cache.keyFor(target.latitude, target.longitude));
+            if (entry != null) {
+                history.record(target.latitude, target.longitude, entry.getResponse(), entry.getFetchedAt());
+            }
+        }
+        history.compactAll(System.currentTimeMillis());
+    }
+
+    private static BackgroundRefreshJob createJob(WeatherCache cache) {
+        ApiClient.initialize();
+        WeatherService service = ApiClient.weatherService(QuotaBudget.Lane.BACKGROUND);
+        WeatherRequestCoordinator coordinator = new WeatherRequestCoordinator(
+                service, WeatherViewModel.API_KEY, cache.getGridDegrees());
+        BulkWeatherRefresher refresher = new BulkWeatherRefresher(
+                service,
+                WeatherViewModel.API_KEY,
+                coordinator,
+                cache,
+                TimeSource.SYSTEM,
+                WeatherViewModel.IO_EXECUTOR,
+                BulkWeatherRefresher.DEFAULT_MAX_CONCURRENCY,
+                WeatherRepository.DEFAULT_MAX_AGE_MILLIS
+        );
+        return new BackgroundRefreshJob(refresher, cache, BackgroundRefreshJob.SHARED_GATE);
+    }
+
+    private static List<SavedLocation> loadSavedLocations(Context context) {
+        SavedLocationStore store = new SavedLocationStore(context);
+        try {
+            return store.loadAll();
+        } finally {
+            store.close();
+        }
+    }
+
+    private static SavedLocation lastKnownLocation(Context context) {
+        SharedPreferences preferences = preferences(context);
+        if (!preferences.contains(KEY_LATITUDE)) {
+            return null;
+        }
+        return new SavedLocation(BackgroundRefreshJob.CURRENT_LOCATION_ID, "",
+                Double.longBitsToDouble(preferences.getLong(KEY_LATITUDE, 0)),
+                Double.longBitsToDouble(preferences.getLong(KEY_LONGITUDE, 0)),
+                0);
+    }
+
+    private static boolean isCharging(Context context) {
+        // sticky 브로드캐스트라 리시버 없이 현재 상태만 읽는다
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery == null) {
+            return false;
+        }
+        int status = battery.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+        return status == BatteryManager.BATTERY_STATUS_CHARGING
+                || status == BatteryManager.BATTERY_STATUS_FULL;
+    }
+
+    private static BackgroundRefreshPolicy.Network networkOf(Context context) {
+        ConnectivityManager connectivity = context.getSystemService(ConnectivityManager.class);
+        NetworkCapabilities capabilities = connectivity == null
+                ? null
+                : connectivity.getNetworkCapabilities(connectivity.getActiveNetwork());
+        if (capabilities == null) {
+            return BackgroundRefreshPolicy.Network.NONE;
+        }
+        return capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+                ? BackgroundRefreshPolicy.Network.UNMETERED
+                : BackgroundRefreshPolicy.Network.METERED;
+    }
+
+    private static SharedPreferences preferences(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -1,16 +0,0 @@
-package org.techtown.weatherapp;
-
-import retrofit2.Call;
-import retrofit2.http.GET;
-import retrofit2.http.Query;
-
-public interface WeatherService {
-    @GET("weather")
-    Call<WeatherResponse> getWeather(
-            @Query("lat") double latitude,
-            @Query("lon") double longitude,
-            @Query("appid") String apiKey,
-            @Query("units") String units,
-            @Query("lang") String lang
-    );
-}
@@ -0,0 +1,682 @@
+package org.techtown.weatherapp;
+
+import android.annotation.SuppressLint;
+import android.app.Application;
+import android.database.sqlite.SQLiteException;
+import android.location.Address;
+import android.os.Trace;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationServices;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * 날씨 화면 상태(날씨, 도시 이름, 로딩 여부, 저장된 주소)와 진행 중인 요청을 소유한다.
+ * 화면 회전 등으로 액티비티가 다시 만들어져도 유지되므로, 새 액티비티는 네트워크나
+ * 지오코더 호출 없이 이 상태를 그리기만 한다.
+ */
+public class WeatherViewModel extends AndroidViewModel {
+    // 여기에 발급받은 API 키를 넣으세요
+    static final String API_KEY = "여기에 API key 입력";
+    private static final String SNAPSHOT_FILE_NAME = "last_weather.bin";
+    private static final String FORWARD_GEOCODE_FILE_NAME = "forward_geocode.json";
+    static final String OBSERVATIONS_DIR_NAME = "observations";
+    // 새 역지오코딩 요청이 들어오면 이전 것은 버린다
+    private static final String REVERSE_GEOCODE_KEY = "reverse";
+    private static final int SEARCH_LIMIT = 100;
+    // 이 거리 안의 주소는 같은 곳으로 보고 다시 저장하지 않는다
+    private static final double DUPLICATE_RADIUS_METERS = 50;
+    // GPS 위치가 저장된 주소에서 이 거리 안이면 그 주소의 이름과 캐시된 날씨를 쓴다
+    private static final double KNOWN_PLACE_RADIUS_METERS = 100;
+    // 캐시/저장소 디스크 입출력은 화면 수명과 무관하게 하나의 스레드에서 처리
+    static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final MutableLiveData<WeatherSnapshot> weather = new MutableLiveData<>();
+    private final MutableLiveData<ForecastSeries> forecast = new MutableLiveData<>();
+    private final MutableLiveData<String> cityName = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
+    private final MutableLiveData<String> message = new MutableLiveData<>();
+    private final MutableLiveData<List<SavedLocation>> savedLocations =
+            new MutableLiveData<>(Collections.emptyList());
+    private final MutableLiveData<List<AddressSuggestion>> addressSuggestions =
+            new MutableLiveData<>(Collections.emptyList());
+    private final MutableLiveData<Boolean> searchingAddress = new MutableLiveData<>(false);
+
+    private final Executor mainExecutor;
+    private final GeocodeScheduler geocodeScheduler =
+            new GeocodeScheduler(GeocodeScheduler.DEFAULT_TIMEOUT_MILLIS);
+    // 주소 입력 debounce 타이머
+    private final ScheduledExecutorService addressInputTimer = Executors.newSingleThreadScheduledExecutor();
+    private final AddressAutocomplete addressAutocomplete;
+    private final FusedLocationProviderClient fusedLocationClient;
+    // 예보와 저장된 주소 새로고침은 사용자 요청보다 낮은 레인의 예산을 쓴다
+    private final WeatherService prefetchService;
+    private final WeatherRepository weatherRepository;
+    private final BackgroundRefreshJob savedLocationRefresh;
+    private final ReverseGeocodeCache reverseGeocodeCache;
+    private final SavedLocationStore savedLocationStore;
+    private final RefreshPolicy refreshPolicy = new RefreshPolicy(TimeSource.SYSTEM);
+    // 저장된 주소 이름의 단어 접두사 색인 (메인 스레드에서만 접근)
+    private final PrefixTrie<SavedLocation> savedLocationIndex = new PrefixTrie<>();
+    // 저장된 주소 좌표 색인 (메인 스레드에서만 접근)
+    private final SpatialIndex<SavedLocation> savedLocationSpatialIndex = new SpatialIndex<>();
+    private final File snapshotFile;
+    private final ObservationHistory observationHistory;
+
+    private WeatherRequestCoordinator.Handle currentWeatherRequest;
+    private Call<ForecastSeries> currentForecastCall;
+    private WeatherSnapshot lastSnapshot = null;
+    private boolean started = false;
+    private boolean showingRestoredSnapshot = false;
+    private boolean usingCurrentLocation = true;
+    private SavedLocation activeSavedLocation = null;
+    private double lastRequestedLatitude;
+    private double lastRequestedLongitude;
+    private boolean hasLastRequestedLocation = false;
+    // 도시 이름 요청 순번. 디스크 캐시를 읽는 사이 새 날씨가 오면 늦게 온 이름은 버린다
+    private int cityNameRequest;
+    private String lastFallbackCityName = "";
+
+    public WeatherViewModel(@NonNull Application application) {
+        super(application);
+        // 네트워크 스택(Retrofit/OkHttp/Gson, Picasso)은 백그라운드에서 미리 만든다
+        IO_EXECUTOR.execute(() -> {
+            Trace.beginSection("ApiClient.initialize");
+            try {
+                ApiClient.initialize();
+                WeatherIconProvider.installSharedPicasso(application);
+            } finally {
+                Trace.endSection();
+            }
+        });
+
+        mainExecutor = ContextCompat.getMainExecutor(application);
+        fusedLocationClient = LocationServices.getFusedLocationProviderClient(application);
+        WeatherService weatherService = ApiClient.weatherService(QuotaBudget.Lane.USER);
+        prefetchService = ApiClient.weatherService(QuotaBudget.Lane.PREFETCH);
+        WeatherCache weatherCache = SharedWeatherCache.get(application);
+        WeatherRequestCoordinator coordinator = new WeatherRequestCoordinator(
+                weatherService, API_KEY, weatherCache.getGridDegrees());
+        weatherRepository = new WeatherRepository(
+                coordinator,
+                weatherCache,
+                TimeSource.SYSTEM,
+                IO_EXECUTOR,
+                mainExecutor,
+                WeatherRepository.DEFAULT_MAX_AGE_MILLIS,
+                WeatherRepository.DEFAULT_STALE_WHILE_REVALIDATE_MILLIS
+        );
+        BulkWeatherRefresher bulkRefresher = new BulkWeatherRefresher(
+                prefetchService,
+                API_KEY,
+                new WeatherRequestCoordinator(prefetchService, API_KEY, weatherCache.getGridDegrees()),
+                weatherCache,
+                TimeSource.SYSTEM,
+                IO_EXECUTOR,
+                BulkWeatherRefresher.DEFAULT_MAX_CONCURRENCY,
+                WeatherRepository.DEFAULT_MAX_AGE_MILLIS
+        );
+        // 백그라운드 작업과 같은 게이트를 써서 일괄 새로고침이 겹치지 않게 한다
+        savedLocationRefresh = new BackgroundRefreshJob(bulkRefresher, weatherCache, BackgroundRefreshJob.SHARED_GATE);
+        reverseGeocodeCache = new ReverseGeocodeCache(application);
+        savedLocationStore = new SavedLocationStore(application);
+        snapshotFile = new File(application.getFilesDir(), SNAPSHOT_FILE_NAME);
+        observationHistory = new ObservationHistory(new File(application.getFilesDir(), OBSERVATIONS_DIR_NAME),
+                weatherCache.getGridDegrees(), TimeZone.getDefault());
+        ForwardGeocodeCache forwardGeocodeCache = new ForwardGeocodeCache(
+                new File(application.getFilesDir(), FORWARD_GEOCODE_FILE_NAME), TimeSource.SYSTEM);
+        addressAutocomplete = new AddressAutocomplete(
+                forwardGeocodeCache,
+                geocodeScheduler,
+                (query, maxResults) -> GeocoderLookups.forward(application, query, maxResults, Locale.getDefault()),
+                addressInputTimer,
+                IO_EXECUTOR,
+                mainExecutor,
+                (query, suggestions, searching) -> {
+                    addressSuggestions.setValue(suggestions);
+                    searchingAddress.setValue(searching);
+                }
+        );
+        IO_EXECUTOR.execute(() -> {
+            forwardGeocodeCache.load();
+            addressAutocomplete.indexCached();
+        });
+
+        restoreLastSnapshot();
+        loadSavedLocations();
+        // 앱을 열지 않아도 캐시가 데워지도록 백그라운드 새로고침을 걸어둔다 (이미 있으면 유지)
+        IO_EXECUTOR.execute(() -> WeatherRefreshWorker.schedule(application));
+    }
+
+    LiveData<WeatherSnapshot> getWeather() {
+        return weather;
+    }
+
+    LiveData<ForecastSeries> getForecast() {
+        return forecast;
+    }
+
+    LiveData<String> getCityName() {
+        return cityName;
+    }
+
+    LiveData<Boolean> getLoading() {
+        return loading;
+    }
+
+    /** 한 번만 보여줄 안내 문구. 보여준 뒤 consumeMessage() 를 호출한다. */
+    LiveData<String> getMessage() {
+        return message;
+    }
+
+    LiveData<List<AddressSuggestion>> getAddressSuggestions() {
+        return addressSuggestions;
+    }
+
+    LiveData<Boolean> getSearchingAddress() {
+        return searchingAddress;
+    }
+
+    LiveData<List<SavedLocation>> getSavedLocations() {
+        return savedLocations;
+    }
+
+    /** 이름의 어느 단어든 query 로 시작하는 저장된 주소. 최근에 저장한 순서. */
+    List<SavedLocation> searchSavedLocations(String query) {
+        List<SavedLocation> results = savedLocationIndex.search(query, SEARCH_LIMIT);
+        Collections.sort(results, (a, b) -> Long.compare(b.savedAt, a.savedAt));
+        return results;
+    }
+
+    void consumeMessage() {
+        message.setValue(null);
+    }
+
+    /** 처음 한 번만 true. 다시 만들어진 액티비티는 새로 조회하지 않는다. */
+    boolean markStarted() {
+        if (started) {
+            return false;
+        }
+        started = true;
+        return true;
+    }
+
+    boolean isUsingCurrentLocation() {
+        return usingCurrentLocation;
+    }
+
+    SavedLocation getActiveSavedLocation() {
+        return activeSavedLocation;
+    }
+
+    // 지난 실행에서 불러온 화면이면 갱신 전까지 이전 정보임을 표시한다
+    boolean isShowingRestoredSnapshot() {
+        return showingRestoredSnapshot;
+    }
+
+    // 위치 권한은 호출하는 쪽에서 확인한다
+    @SuppressLint("MissingPermission")
+    void refreshCurrentLocation(boolean force) {
+        usingCurrentLocation = true;
+        activeSavedLocation = null;
+        loading.setValue(true);
+        // GPS 를 기다리는 동안 API 서버와 미리 연결해 둔다
+        IO_EXECUTOR.execute(ApiClient::prewarm);
+
+        long locationStart = System.nanoTime();
+        fusedLocationClient.getLastLocation()
+                .addOnSuccessListener(mainExecutor, location -> {
+                    PerfMetrics.get().record(PerfMetrics.Stage.LOCATION, System.nanoTime() - locationStart);
+                    if (!usingCurrentLocation) {
+                        return;
+                    }
+                    if (location == null) {
+                        loading.setValue(false);
+                        message.setValue("위치를 가져올 수 없습니다");
+                        return;
+                    }
+
+                    double latitude = location.getLatitude();
+                    double longitude = location.getLongitude();
+                    // 거의 움직이지 않았고 데이터도 최근 것이면 API 호출 생략
+                    if (!refreshPolicy.shouldFetch(latitude, longitude, force)) {
+                        loading.setValue(false);
+                        return;
+                    }
+
+                    // 저장된 장소에 있으면 그 이름을 쓰고(역지오코딩 생략),
+                    // 서랍을 열 때 미리 받아 둔 그 좌표의 캐시를 그대로 쓴다
+                    SpatialIndex.Match<SavedLocation> knownPlace = savedLocationSpatialIndex.nearest(
+                            latitude, longitude, KNOWN_PLACE_RADIUS_METERS);
+                    if (knownPlace != null) {
+                        SavedLocation place = knownPlace.value;
+                        fetchWeatherData(place.latitude, place.longitude, place.label, force);
+                    } else {
+                        fetchWeatherData(latitude, longitude, null, force);
+                    }
+                })
+                .addOnFailureListener(mainExecutor, e -> {
+                    loading.setValue(false);
+                    message.setValue("위치 조회 실패: " + e.getMessage());
+                });
+    }
+
+    void showSavedLocation(SavedLocation location) {
+        showSavedLocation(location, false);
+    }
+
+    /** force 이면 캐시가 최근 것이어도 다시 받는다. */
+    void showSavedLocation(SavedLocation location, boolean force) {
+        usingCurrentLocation = false;
+        activeSavedLocation = location;
+        refreshPolicy.reset();
+        loading.setValue(true);
+        fetchWeatherData(location.latitude, location.longitude, null, force);
+    }
+
+    void refreshSavedLocationsInBackground() {
+        List<SavedLocation> targets = savedLocations.getValue();
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        // 백그라운드 작업이 이미 돌고 있으면 그 실행에 합쳐진다
+        IO_EXECUTOR.execute(() -> savedLocationRefresh.start(null, targets, result -> { }));
+    }
+
+    /** 주소 입력 창의 글자가 바뀔 때마다 부른다. 후보는 getAddressSuggestions() 로 온다. */
+    void updateAddressQuery(String text) {
+        addressAutocomplete.update(text);
+    }
+
+    /** 주소 입력 창을 닫을 때. */
+    void clearAddressQuery() {
+        addressAutocomplete.clear();
+        addressSuggestions.setValue(Collections.emptyList());
+        searchingAddress.setValue(false);
+    }
+
+    void addAddress(String addressInput) {
+        // 예전에 입력한 주소면 Geocoder 를 부르지 않는다
+        List<AddressSuggestion> cached = addressAutocomplete.cached(addressInput);
+        PerfMetrics.get().increment(cached != null
+                ? PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT
+                : PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS);
+        if (cached != null) {
+            if (cached.isEmpty()) {
+                message.setValue("주소를 찾을 수 없습니다");
+            } else {
+                addSuggestedAddress(cached.get(0));
+            }
+            return;
+        }
+
+        loading.setValue(true);
+
+        // 사용자 요청이므로 대기 중인 역지오코딩보다 먼저 처리된다
+        geocodeScheduler.submit(GeocodeScheduler.Priority.USER, null,
+                GeocoderLookups.forward(getApplication(), addressInput, 1, Locale.getDefault()),
+                onMain(new GeocodeScheduler.Completion<List<AddressSuggestion>>() {
+                    @Override
+                    public void onResult(List<AddressSuggestion> results) {
+                        addressAutocomplete.remember(addressInput, results);
+                        if (results.isEmpty()) {
+                            loading.setValue(false);
+                            message.setValue("주소를 찾을 수 없습니다");
+                            return;
+                        }
+                        addSuggestedAddress(results.get(0));
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        loading.setValue(false);
+                        message.setValue(t instanceof TimeoutException
+                                ? "주소 검색 시간이 초과되었습니다"
+                                : "주소 검색 실패: " + t.getMessage());
+                    }
+                }));
+    }
+
+    /** 좌표가 정해진 후보를 저장하고 보여준다. */
+    void addSuggestedAddress(AddressSuggestion place) {
+        SpatialIndex.Match<SavedLocation> duplicate = savedLocationSpatialIndex.nearest(
+                place.latitude, place.longitude, DUPLICATE_RADIUS_METERS);
+        if (duplicate != null) {
+            message.setValue("이미 저장된 주소입니다: " + duplicate.value.label);
+            showSavedLocation(duplicate.value);
+            return;
+        }
+
+        SavedLocation newLocation = new SavedLocation(
+                UUID.randomUUID().toString(),
+                place.label,
+                place.latitude,
+                place.longitude,
+                System.currentTimeMillis()
+        );
+
+        List<SavedLocation> updated = new ArrayList<>(currentSavedLocations());
+        updated.add(0, newLocation);
+        indexSavedLocation(newLocation);
+        savedLocations.setValue(Collections.unmodifiableList(updated));
+        IO_EXECUTOR.execute(() -> savedLocationStore.insert(newLocation));
+        showSavedLocation(newLocation);
+    }
+
+    /** 보고 있던 주소를 지웠으면 true (현재 위치로 돌아가야 한다). */
+    boolean deleteSavedLocation(SavedLocation target) {
+        List<SavedLocation> updated = new ArrayList<>(currentSavedLocations());
+        if (updated.remove(target)) {
+            savedLocationIndex.removeWords(target.label, target);
+            savedLocationSpatialIndex.remove(target);
+        }
+        savedLocations.setValue(Collections.unmodifiableList(updated));
+        IO_EXECUTOR.execute(() -> savedLocationStore.delete(target.id));
+
+        if (activeSavedLocation != null && activeSavedLocation.id.equals(target.id)) {
+            activeSavedLocation = null;
+            usingCurrentLocation = true;
+            return true;
+        }
+        return false;
+    }
+
+    // knownCityName 이 있으면 역지오코딩 대신 그 이름을 쓴다. force 이면 캐시를 건너뛰고 네트워크로 받는다
+    private void fetchWeatherData(double latitude, double longitude, String knownCityName, boolean force) {
+        lastRequestedLatitude = latitude;
+        lastRequestedLongitude = longitude;
+        hasLastRequestedLocation = true;
+
+        // 이전 위치에 대한 요청은 더 이상 화면에 반영하지 않는다
+        if (currentWeatherRequest != null) {
+            currentWeatherRequest.cancel();
+        }
+        boolean fromCurrentLocation = usingCurrentLocation;
+        currentWeatherRequest = weatherRepository.load(latitude, longitude, force, new WeatherRepository.Listener() {
+            @Override
+            public void onWeather(WeatherResponse weatherData, boolean fromCache) {
+                loading.setValue(false);
+                if (fromCurrentLocation && !fromCache) {
+                    refreshPolicy.recordFetch(latitude, longitude);
+                    IO_EXECUTOR.execute(() ->
+                            WeatherRefreshWorker.rememberLocation(getApplication(), latitude, longitude));
+                }
+                if (!fromCache) {
+                    long observedAt = System.currentTimeMillis();
+                    IO_EXECUTOR.execute(() ->
+                            observationHistory.record(latitude, longitude, weatherData, observedAt));
+                }
+                updateWeather(weatherData, knownCityName);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                loading.setValue(false);
+                if (t instanceof HttpException) {
+                    message.setValue("날씨 정보를 가져오는데 실패했습니다");
+                } else if (t instanceof CircuitOpenException) {
+                    message.setValue("날씨 서버가 불안정합니다. 잠시 후 다시 시도해주세요");
+                } else {
+                    message.setValue("네트워크 오류: " + t.getMessage());
+                }
+            }
+        });
+        fetchForecast(latitude, longitude);
+    }
+
+    // 예보는 보조 정보이므로 실패해도 메시지를 띄우지 않고 이전 예보를 지운다
+    private void fetchForecast(double latitude, double longitude) {
+        Call<ForecastSeries> previous = currentForecastCall;
+        Call<ForecastSeries> call = prefetchService.getForecast(latitude, longitude, API_KEY, "metric", "kr");
+        currentForecastCall = call;
+        if (previous != null) {
+            previous.cancel();
+        }
+        // 재시도/차단 결과는 스케줄러 스레드에서 올 수 있으므로 메인 스레드로 옮긴다
+        call.enqueue(new Callback<ForecastSeries>() {
+            @Override
+            public void onResponse(Call<ForecastSeries> c, Response<ForecastSeries> response) {
+                ForecastSeries series = response.isSuccessful() ? response.body() : null;
+                mainExecutor.execute(() -> showForecast(c, series));
+            }
+
+            @Override
+            public void onFailure(Call<ForecastSeries> c, Throwable t) {
+                mainExecutor.execute(() -> showForecast(c, null));
+            }
+        });
+    }
+
+    private void showForecast(Call<ForecastSeries> call, ForecastSeries series) {
+        // 다른 위치로 바뀐 뒤 도착한 예보는 버린다
+        if (call != currentForecastCall) {
+            return;
+        }
+        currentForecastCall = null;
+        forecast.setValue(series);
+    }
+
+    private void updateWeather(WeatherResponse weatherData, String knownCityName) {
+        showingRestoredSnapshot = false;
+        lastSnapshot = WeatherSnapshot.from(weatherData, cityName.getValue(), System.currentTimeMillis());
+        weather.setValue(lastSnapshot);
+
+        // 도시 이름 (캐시된 한국어 주소가 없으면 기본값, 이후 지오코더로 업데이트)
+        lastFallbackCityName = weatherData.getCityName() != null ? weatherData.getCityName() : "";
+        cityNameRequest++;
+        if (knownCityName != null) {
+            showCityName(knownCityName);
+        } else {
+            updateCityNameUsingGeocoder();
+        }
+        persistSnapshot();
+    }
+
+    private void restoreLastSnapshot() {
+        WeatherSnapshot snapshot = WeatherSnapshot.read(snapshotFile);
+        if (snapshot == null) {
+            return;
+        }
+
+        showingRestoredSnapshot = true;
+        lastSnapshot = snapshot;
+        weather.setValue(snapshot);
+        if (!snapshot.cityName.isEmpty()) {
+            cityName.setValue(snapshot.cityName);
+        }
+    }
+
+    private void persistSnapshot() {
+        if (lastSnapshot == null) {
+            return;
+        }
+
+        WeatherSnapshot snapshot = lastSnapshot;
+        IO_EXECUTOR.execute(() -> {
+            try {
+                snapshot.write(snapshotFile);
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    private void showCityName(String name) {
+        cityName.setValue(name);
+        if (lastSnapshot != null && !name.equals(lastSnapshot.cityName)) {
+            lastSnapshot = lastSnapshot.withCityName(name);
+            persistSnapshot();
+        }
+    }
+
+    private void updateCityNameUsingGeocoder() {
+        if (!hasLastRequestedLocation) {
+            showCityName(getCityFallbackName());
+            return;
+        }
+
+        double latitude = lastRequestedLatitude;
+        double longitude = lastRequestedLongitude;
+        String cachedName = reverseGeocodeCache.getFromMemory(latitude, longitude);
+        if (cachedName != null) {
+            showCityName(cachedName);
+            return;
+        }
+
+        showCityName(getCityFallbackName());
+        // 디스크 계층(SharedPreferences)은 처음 읽을 때 파일 로드를 기다리므로 IO 스레드에서 본다
+        int request = cityNameRequest;
+        IO_EXECUTOR.execute(() -> {
+            String storedName = reverseGeocodeCache.getFromDisk(latitude, longitude);
+            mainExecutor.execute(() -> {
+                if (request != cityNameRequest) {
+                    return;
+                }
+                if (storedName != null) {
+                    showCityName(storedName);
+                } else {
+                    reverseGeocode(latitude, longitude);
+                }
+            });
+        });
+    }
+
+    private void reverseGeocode(double latitude, double longitude) {
+        // 좌표는 지금 값으로 고정하고, 더 새로운 위치의 요청이 오면 이 결과는 버려진다
+        geocodeScheduler.submit(GeocodeScheduler.Priority.BACKGROUND, REVERSE_GEOCODE_KEY,
+                GeocoderLookups.reverse(getApplication(), latitude, longitude, Locale.KOREAN),
+                onMain(new GeocodeScheduler.Completion<List<Address>>() {
+                    @Override
+                    public void onResult(List<Address> results) {
+                        String displayName = results != null && !results.isEmpty()
+                                ? buildKoreanCityDisplay(results.get(0))
+                                : null;
+                        if (displayName != null) {
+                            IO_EXECUTOR.execute(() -> reverseGeocodeCache.put(latitude, longitude, displayName));
+                            showCityName(displayName);
+                        } else {
+                            showCityName(getCityFallbackName());
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        showCityName(getCityFallbackName());
+                    }
+                }));
+    }
+
+    private void loadSavedLocations() {
+        IO_EXECUTOR.execute(() -> {
+            try {
+                List<SavedLocation> loaded = savedLocationStore.loadAll();
+                mainExecutor.execute(() -> {
+                    // 불러오는 동안 새로 추가된 주소는 그대로 앞에 둔다
+                    List<SavedLocation> merged = new ArrayList<>(currentSavedLocations());
+                    Set<String> addedIds = new HashSet<>();
+                    for (SavedLocation location : merged) {
+                        addedIds.add(location.id);
+                    }
+                    for (SavedLocation location : loaded) {
+                        if (!addedIds.contains(location.id)) {
+                            merged.add(location);
+                            indexSavedLocation(location);
+                        }
+                    }
+                    savedLocations.setValue(Collections.unmodifiableList(merged));
+                });
+            } catch (SQLiteException e) {
+                mainExecutor.execute(() -> message.setValue("저장된 주소를 불러올 수 없습니다"));
+            }
+        });
+    }
+
+    // 지오코딩 결과는 메인 스레드에서 상태에 반영한다
+    private <T> GeocodeScheduler.Completion<T> onMain(GeocodeScheduler.Completion<T> completion) {
+        return new GeocodeScheduler.Completion<T>() {
+            @Override
+            public void onResult(T result) {
+                mainExecutor.execute(() -> completion.onResult(result));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                mainExecutor.execute(() -> completion.onError(t));
+            }
+        };
+    }
+
+    private void indexSavedLocation(SavedLocation location) {
+        savedLocationIndex.putWords(location.label, location);
+        savedLocationSpatialIndex.add(location.latitude, location.longitude, location);
+        addressAutocomplete.addKnownPlace(new AddressSuggestion(location.label, location.latitude, location.longitude));
+    }
+
+    private List<SavedLocation> currentSavedLocations() {
+        List<SavedLocation> current = savedLocations.getValue();
+        return current != null ? current : Collections.emptyList();
+    }
+
+    // 주소 구성 요소가 하나도 없으면 null (캐시하지 않고 기본 이름을 쓴다)
+    private String buildKoreanCityDisplay(Address address) {
+        List<String> parts = new ArrayList<>();
+        appendIfNotEmpty(parts, address.getAdminArea());
+        appendIfNotEmpty(parts, address.getLocality());
+        appendIfNotEmpty(parts, address.getSubLocality());
+
+        if (parts.isEmpty()) {
+            return null;
+        }
+        return TextUtils.join(" ", parts);
+    }
+
+    private void appendIfNotEmpty(List<String> parts, String value) {
+        if (!TextUtils.isEmpty(value) && !parts.contains(value)) {
+            parts.add(value);
+        }
+    }
+
+    private String getCityFallbackName() {
+        return TextUtils.isEmpty(lastFallbackCityName) ? "도시 이름" : lastFallbackCityName;
+    }
+
+    @Override
+    protected void onCleared() {
+        addressAutocomplete.clear();
+        addressInputTimer.shutdownNow();
+        geocodeScheduler.shutdown();
+        if (currentWeatherRequest != null) {
+            currentWeatherRequest.cancel();
+        }
+        if (currentForecastCall != null) {
+            currentForecastCall.cancel();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":engine"))
+    // Android 에 포함된 org.json 과 같은 API 의 JVM 구현
+    implementation("org.json:json:20240303")
+}
+
+// ./gradlew :benchmark:jmh
+// 결과는 build/results/jmh/results.json 에 JMH JSON 형식으로 남으므로
+// 릴리스마다 보관해 두고 비교(diff)하면 된다. -PjmhIncludes=Decode 처럼 일부만 실행할 수 있다.
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    profilers.add("gc")
+    findProperty("jmhIncludes")?.let { includes.add(it.toString()) }
+}
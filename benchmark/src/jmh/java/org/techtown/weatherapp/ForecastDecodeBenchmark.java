@@ -0,0 +1,104 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 항목마다 객체를 만드는 일반적인 예보 모델(리플렉션 Gson)과 열 배열 ForecastSeries 디코딩을 비교한다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ForecastDecodeBenchmark {
+    // OpenWeather /forecast 의 한 항목 (3시간 간격)
+    private static final String ENTRY = "{\"dt\":%d,\"main\":{\"temp\":%.2f,\"feels_like\":%.2f,"
+            + "\"temp_min\":17.69,\"temp_max\":19.78,\"pressure\":1021,\"sea_level\":1021,\"grnd_level\":1015,"
+            + "\"humidity\":%d,\"temp_kf\":0},\"weather\":[{\"id\":800,\"main\":\"Clear\","
+            + "\"description\":\"%s\",\"icon\":\"%s\"}],\"clouds\":{\"all\":0},"
+            + "\"wind\":{\"speed\":%.2f,\"deg\":270,\"gust\":4.12},\"visibility\":10000,\"pop\":0,"
+            + "\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2025-10-17 06:00:00\"}";
+    private static final String[] DESCRIPTIONS = {"맑음", "구름조금", "온흐림", "실 비"};
+    private static final String[] ICONS = {"01d", "02d", "04d", "10d"};
+
+    // 40 = 기본 5일치, 96 = 시간별 4일치
+    @Param({"40", "96"})
+    public int entries;
+
+    private final Gson reflective = new Gson();
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("{\"cod\":\"200\",\"message\":0,\"cnt\":")
+                .append(entries).append(",\"list\":[");
+        for (int i = 0; i < entries; i++) {
+            int kind = (i / 5) % DESCRIPTIONS.length;
+            builder.append(i > 0 ? "," : "").append(String.format(Locale.US, ENTRY,
+                    1760680800L + i * 10800L, 18.76 - i * 0.1, 18.12 - i * 0.1, 55 + i % 30,
+                    DESCRIPTIONS[kind], ICONS[kind], 2.57 + i * 0.01));
+        }
+        payload = builder.append("],\"city\":{\"id\":1835848,\"name\":\"Seoul\",")
+                .append("\"coord\":{\"lat\":37.5665,\"lon\":126.978},\"country\":\"KR\",")
+                .append("\"timezone\":32400,\"sunrise\":1760649993,\"sunset\":1760690327}}")
+                .toString();
+    }
+
+    @Benchmark
+    public Object objectModel() {
+        return reflective.fromJson(payload, NaiveForecast.class);
+    }
+
+    @Benchmark
+    public Object columnar() {
+        return WeatherJson.GSON.fromJson(payload, ForecastSeries.class);
+    }
+
+    // 비교용: 응답 구조를 그대로 옮긴 객체 모델
+    static class NaiveForecast {
+        int cnt;
+        List<Item> list;
+        City city;
+
+        static class Item {
+            long dt;
+            Main main;
+            List<Weather> weather;
+            Wind wind;
+            String dt_txt;
+        }
+
+        static class Main {
+            double temp;
+            double feels_like;
+            int humidity;
+        }
+
+        static class Weather {
+            String description;
+            String icon;
+        }
+
+        static class Wind {
+            double speed;
+        }
+
+        static class City {
+            long id;
+            String name;
+            int timezone;
+        }
+    }
+}
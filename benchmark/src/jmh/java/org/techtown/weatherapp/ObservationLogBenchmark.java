@@ -0,0 +1,85 @@
+package org.techtown.weatherapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관측 기록 파일의 추가와 범위 조회 비용을 잰다.
+ * 조회는 압축을 마친 파일(일별 + 시간별 + 최근 원본)에서 차트 한 화면 분량을 읽는 경우다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObservationLogBenchmark {
+    private static final long MINUTE = 60 * 1000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+
+    // 차트에서 보여 줄 기간 (일)
+    @Param({"1", "7", "90"})
+    public int rangeDays;
+
+    private File queryFile;
+    private File appendFile;
+    private ObservationLog queryLog;
+    private ObservationLog appendLog;
+    private long now;
+    private long nextAppendAt;
+
+    @Setup
+    public void setUp() throws IOException {
+        queryFile = File.createTempFile("observations", ".obs");
+        now = 180 * DAY;
+        try (ObservationLog log = new ObservationLog(queryFile, SEOUL)) {
+            // 반년 동안 15분마다 받은 날씨
+            for (long t = 0; t < now; t += 15 * MINUTE) {
+                log.append(t, 15 + (t % DAY) / (float) DAY * 10, 14, 60, 2.5f);
+            }
+            log.compact(now);
+        }
+        queryLog = new ObservationLog(queryFile, SEOUL);
+    }
+
+    @Setup(Level.Iteration)
+    public void openAppendLog() throws IOException {
+        appendFile = File.createTempFile("observations-append", ".obs");
+        appendLog = new ObservationLog(appendFile, SEOUL);
+        nextAppendAt = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAppendLog() throws IOException {
+        appendLog.close();
+        appendFile.delete();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        queryLog.close();
+        queryFile.delete();
+    }
+
+    @Benchmark
+    public Object query() throws IOException {
+        return queryLog.query(now - rangeDays * DAY, now);
+    }
+
+    @Benchmark
+    public boolean append() throws IOException {
+        nextAppendAt += MINUTE;
+        return appendLog.append(nextAppendAt, 18.5f, 17.9f, 55, 2.1f);
+    }
+}
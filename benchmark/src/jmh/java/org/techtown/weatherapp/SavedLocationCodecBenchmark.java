@@ -0,0 +1,52 @@
+package org.techtown.weatherapp;
+
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 주소 목록의 JSON 직렬화/파싱 비용.
+ * 예전 persistSavedLocations/loadSavedLocations 가 변경마다 하던 작업이며,
+ * 지금은 SavedLocationStore 로 옮길 때 한 번 실행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SavedLocationCodecBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private List<SavedLocation> locations;
+    private String serialized;
+
+    @Setup
+    public void setUp() {
+        locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            locations.add(new SavedLocation(UUID.randomUUID().toString(), "서울특별시 중구 " + i + "번지",
+                    33.0 + (i % 500) * 0.01, 126.0 + (i / 500) * 0.01, 1_700_000_000_000L + i));
+        }
+        serialized = SavedLocationJson.serialize(locations);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return SavedLocationJson.serialize(locations);
+    }
+
+    @Benchmark
+    public List<SavedLocation> parse() throws JSONException {
+        return SavedLocationJson.parse(serialized);
+    }
+}
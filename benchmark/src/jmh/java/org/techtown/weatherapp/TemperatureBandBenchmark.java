@@ -0,0 +1,33 @@
+package org.techtown.weatherapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * updateUI 에서 기온마다 캐릭터 그림과 옷추천을 고르는 경로.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemperatureBandBenchmark {
+    private static final int MIN_TEMPERATURE = -20;
+    private static final int MAX_TEMPERATURE = 40;
+
+    @Benchmark
+    @OperationsPerInvocation(MAX_TEMPERATURE - MIN_TEMPERATURE + 1)
+    public void lookupAcrossRange(Blackhole blackhole) {
+        for (int temperature = MIN_TEMPERATURE; temperature <= MAX_TEMPERATURE; temperature++) {
+            TemperatureBand band = TemperatureBand.forTemperature(temperature);
+            blackhole.consume(band.ordinal());
+            blackhole.consume(band.clothesRecommendation);
+        }
+    }
+}
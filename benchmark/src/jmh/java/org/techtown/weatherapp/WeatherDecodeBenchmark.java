@@ -0,0 +1,72 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리플렉션 기반 Gson 디코딩(기존 GsonConverterFactory.create())과
+ * WeatherJson 의 스트리밍 TypeAdapter 디코딩을 비교한다.
+ * cities 가 1 이면 /weather 응답 하나, 그보다 크면 그만큼의 도시가 담긴 group 응답을 디코딩한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeatherDecodeBenchmark {
+    // 실제 OpenWeather /weather 응답 (서울)
+    static final String PAYLOAD = "{\"coord\":{\"lon\":126.978,\"lat\":37.5665},"
+            + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"맑음\",\"icon\":\"01d\"}],"
+            + "\"base\":\"stations\",\"main\":{\"temp\":18.76,\"feels_like\":18.12,\"temp_min\":17.69,"
+            + "\"temp_max\":19.78,\"pressure\":1021,\"humidity\":55,\"sea_level\":1021,\"grnd_level\":1015},"
+            + "\"visibility\":10000,\"wind\":{\"speed\":2.57,\"deg\":270,\"gust\":4.12},\"clouds\":{\"all\":0},"
+            + "\"dt\":1760680800,\"sys\":{\"type\":1,\"id\":8105,\"country\":\"KR\",\"sunrise\":1760649993,"
+            + "\"sunset\":1760690327},\"timezone\":32400,\"id\":1835848,\"name\":\"Seoul\",\"cod\":200}";
+
+    @Param({"1", "5", "20"})
+    public int cities;
+
+    private final Gson reflective = new Gson();
+    private String payload;
+    private Class<?> type;
+
+    @Setup
+    public void setUp() {
+        if (cities == 1) {
+            payload = PAYLOAD;
+            type = WeatherResponse.class;
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("{\"cnt\":").append(cities).append(",\"list\":[");
+        for (int i = 0; i < cities; i++) {
+            builder.append(i > 0 ? "," : "").append(PAYLOAD.replace("1835848", String.valueOf(1835848 + i)));
+        }
+        payload = builder.append("]}").toString();
+        type = WeatherGroupResponse.class;
+    }
+
+    @Benchmark
+    public Object reflectiveSharedGson() {
+        return reflective.fromJson(payload, type);
+    }
+
+    // 기존 코드처럼 Gson 을 새로 만들어 첫 호출 비용(클래스 스캔)까지 포함
+    @Benchmark
+    public Object reflectiveFreshGson() {
+        return new Gson().fromJson(payload, type);
+    }
+
+    @Benchmark
+    public Object streamingAdapter() {
+        return WeatherJson.GSON.fromJson(payload, type);
+    }
+}
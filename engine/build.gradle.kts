@@ -0,0 +1,28 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Android 에 의존하지 않는 날씨 엔진 (요청 파이프라인, 캐시, 지오코딩 스케줄러, 관측 기록 등)
+// 앱(minSdk 24)에서 그대로 쓰므로 java.time, java.nio.file 처럼 API 26 이상이 필요한 클래스는 쓰지 않는다
+dependencies {
+    // Retrofit
+    api("com.squareup.retrofit2:retrofit:2.9.0")
+    api("com.squareup.retrofit2:converter-gson:2.9.0")
+
+    // Gson
+    api("com.google.code.gson:gson:2.11.0")
+
+    // org.json 은 Android 에 포함되어 있으므로 컴파일에만 쓴다
+    compileOnly("org.json:json:20240303")
+
+    testImplementation(libs.junit)
+    testImplementation("org.json:json:20240303")
+
+    // MockWebServer (로컬 스텁 서버 테스트)
+    testImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")
+}
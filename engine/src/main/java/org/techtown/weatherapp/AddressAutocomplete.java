@@ -0,0 +1,301 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주소 입력 자동완성.
+ * 글자를 칠 때마다 예전에 찾은 주소와 저장된 주소의 접두사 트라이에서 바로 후보를 만들고,
+ * 입력이 debounceMillis 동안 멈췄을 때만 Geocoder 를 부른다. 새 입력이 오면 대기 중이거나
+ * 진행 중인 이전 조회는 취소(GeocodeScheduler 의 같은 키 대체)되어 결과가 버려진다.
+ * 찾은 결과는 ForwardGeocodeCache 에 남아 같은 입력은 다시 조회하지 않는다.
+ * 어느 스레드에서 불러도 되고 listener 는 callbackExecutor 에서 호출된다.
+ */
+final class AddressAutocomplete {
+    static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+    static final int MIN_QUERY_LENGTH = 2;
+    static final int DEFAULT_LIMIT = 5;
+    // 새 자동완성 조회가 들어오면 이전 것은 버린다
+    private static final String SUPERSEDE_KEY = "autocomplete";
+
+    interface RemoteLookup {
+        GeocodeScheduler.Lookup<List<AddressSuggestion>> forward(String query, int maxResults);
+    }
+
+    interface Listener {
+        /** searching 이면 아직 Geocoder 결과를 기다리는 중이다. */
+        void onSuggestions(String query, List<AddressSuggestion> suggestions, boolean searching);
+    }
+
+    private final ForwardGeocodeCache cache;
+    private final GeocodeScheduler scheduler;
+    private final RemoteLookup remote;
+    private final ScheduledExecutorService timer;
+    private final Executor ioExecutor;
+    private final Executor callbackExecutor;
+    private final long debounceMillis;
+    private final int limit;
+    private final Listener listener;
+
+    private final PrefixTrie<AddressSuggestion> index = new PrefixTrie<>();
+    private final Set<AddressSuggestion> indexedPlaces = new HashSet<>();
+    // 입력 문자열 자체로도 찾을 수 있게 넣어 둔 것 (다시 찾으면 바꿔 넣는다)
+    private final Map<String, List<AddressSuggestion>> indexedQueries = new HashMap<>();
+
+    private String currentQuery = "";
+    private long generation;
+    private ScheduledFuture<?> pendingLookup;
+    private Runnable pendingTask;
+    private WeatherRequestCoordinator.Handle runningLookup;
+
+    AddressAutocomplete(ForwardGeocodeCache cache, GeocodeScheduler scheduler, RemoteLookup remote,
+                        ScheduledExecutorService timer, Executor ioExecutor, Executor callbackExecutor,
+                        Listener listener) {
+        this(cache, scheduler, remote, timer, ioExecutor, callbackExecutor, DEFAULT_DEBOUNCE_MILLIS,
+                DEFAULT_LIMIT, listener);
+    }
+
+    AddressAutocomplete(ForwardGeocodeCache cache, GeocodeScheduler scheduler, RemoteLookup remote,
+                        ScheduledExecutorService timer, Executor ioExecutor, Executor callbackExecutor,
+                        long debounceMillis, int limit, Listener listener) {
+        this.cache = cache;
+        this.scheduler = scheduler;
+        this.remote = remote;
+        this.timer = timer;
+        this.ioExecutor = ioExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.debounceMillis = debounceMillis;
+        this.limit = limit;
+        this.listener = listener;
+    }
+
+    /** 디스크에서 읽어 둔 캐시를 색인에 넣는다. cache.load() 뒤에 부른다. */
+    synchronized void indexCached() {
+        for (Map.Entry<String, List<AddressSuggestion>> entry : cache.resolved().entrySet()) {
+            indexQuery(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /** 저장된 주소처럼 좌표를 이미 아는 곳. */
+    synchronized void addKnownPlace(AddressSuggestion place) {
+        indexPlace(place);
+    }
+
+    void update(String text) {
+        String query = ForwardGeocodeCache.normalize(text);
+        List<AddressSuggestion> suggestions;
+        boolean searching;
+        synchronized (this) {
+            if (query.equals(currentQuery)) {
+                return;
+            }
+            currentQuery = query;
+            generation++;
+            cancelLookupLocked();
+
+            if (query.length() < MIN_QUERY_LENGTH) {
+                suggestions = Collections.emptyList();
+                searching = false;
+            } else {
+                // 캐시에 있는 입력이면 Geocoder 를 부르지 않는다. 적중도 입력이 멈췄을 때 한 번만 센다
+                searching = !cache.contains(query);
+                suggestions = localSuggestionsLocked(query);
+                long expected = generation;
+                pendingTask = searching ? () -> lookup(query, expected) : () -> countCacheHit(expected);
+                pendingLookup = timer.schedule(pendingTask, debounceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        deliver(query, suggestions, searching);
+    }
+
+    /** 입력 창을 닫을 때. 대기 중이거나 진행 중인 조회를 취소한다. */
+    synchronized void clear() {
+        currentQuery = "";
+        generation++;
+        cancelLookupLocked();
+    }
+
+    /** 캐시된 결과. 없으면 null, 찾을 수 없던 주소면 빈 목록. */
+    List<AddressSuggestion> cached(String text) {
+        return cache.get(text);
+    }
+
+    /** 자동완성 밖(저장 버튼)에서 지오코딩한 결과도 캐시와 색인에 넣는다. */
+    void remember(String text, List<AddressSuggestion> places) {
+        String query = ForwardGeocodeCache.normalize(text);
+        cache.put(query, places);
+        synchronized (this) {
+            indexQuery(query, places);
+        }
+        persist();
+    }
+
+    /** 기다리는 중인 조회를 지금 바로 시작한다. */
+    void flush() {
+        Runnable task;
+        synchronized (this) {
+            task = pendingTask;
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    private void countCacheHit(long expected) {
+        if (takePendingTask(expected)) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT);
+        }
+    }
+
+    private void lookup(String query, long expected) {
+        if (!takePendingTask(expected)) {
+            return;
+        }
+
+        // 입력이 멈춰 실제로 Geocoder 까지 가는 조회만 캐시 실패로 센다
+        PerfMetrics.get().increment(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS);
+        WeatherRequestCoordinator.Handle handle = scheduler.submit(GeocodeScheduler.Priority.USER, SUPERSEDE_KEY,
+                remote.forward(query, limit), new GeocodeScheduler.Completion<List<AddressSuggestion>>() {
+                    @Override
+                    public void onResult(List<AddressSuggestion> result) {
+                        onRemoteResult(query, expected, result != null ? result : Collections.emptyList());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        onRemoteError(query, expected);
+                    }
+                });
+        synchronized (this) {
+            if (expected == generation) {
+                runningLookup = handle;
+            } else {
+                handle.cancel();
+            }
+        }
+    }
+
+    // flush() 와 타이머 중 하나만 대기 작업을 실행한다
+    private synchronized boolean takePendingTask(long expected) {
+        if (expected != generation || pendingTask == null) {
+            return false;
+        }
+        if (pendingLookup != null) {
+            pendingLookup.cancel(false);
+            pendingLookup = null;
+        }
+        pendingTask = null;
+        return true;
+    }
+
+    // 입력이 그 사이 바뀌었어도 찾은 결과는 캐시에 남긴다
+    private void onRemoteResult(String query, long expected, List<AddressSuggestion> places) {
+        cache.put(query, places);
+        persist();
+        List<AddressSuggestion> suggestions;
+        synchronized (this) {
+            indexQuery(query, places);
+            if (expected != generation) {
+                return;
+            }
+            suggestions = localSuggestionsLocked(query);
+        }
+        deliver(query, suggestions, false);
+    }
+
+    // 실패는 캐시하지 않고, 로컬 후보만 남긴다
+    private void onRemoteError(String query, long expected) {
+        List<AddressSuggestion> suggestions;
+        synchronized (this) {
+            if (expected != generation) {
+                return;
+            }
+            suggestions = localSuggestionsLocked(query);
+        }
+        deliver(query, suggestions, false);
+    }
+
+    // 입력과 똑같은 캐시 결과를 먼저, 그 다음 트라이 접두사 후보
+    private List<AddressSuggestion> localSuggestionsLocked(String query) {
+        Set<AddressSuggestion> merged = new LinkedHashSet<>();
+        List<AddressSuggestion> exact = indexedQueries.get(query);
+        if (exact != null) {
+            merged.addAll(exact);
+        }
+        if (merged.size() < limit) {
+            merged.addAll(index.search(query, limit));
+        }
+
+        List<AddressSuggestion> suggestions = new ArrayList<>(merged);
+        return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    private void indexQuery(String query, List<AddressSuggestion> places) {
+        List<AddressSuggestion> previous = indexedQueries.remove(query);
+        if (previous != null) {
+            for (AddressSuggestion place : previous) {
+                index.remove(query, place);
+            }
+        }
+        if (places.isEmpty()) {
+            return;
+        }
+
+        indexedQueries.put(query, places);
+        for (AddressSuggestion place : places) {
+            index.put(query, place);
+            indexPlace(place);
+        }
+    }
+
+    private void indexPlace(AddressSuggestion place) {
+        if (indexedPlaces.add(place)) {
+            index.putWords(place.label, place);
+        }
+    }
+
+    private void cancelLookupLocked() {
+        if (pendingLookup != null) {
+            pendingLookup.cancel(false);
+            pendingLookup = null;
+        }
+        pendingTask = null;
+        if (runningLookup != null) {
+            runningLookup.cancel();
+            runningLookup = null;
+        }
+    }
+
+    private void persist() {
+        ioExecutor.execute(() -> {
+            try {
+                cache.save();
+            } catch (IOException ignored) {
+                // 저장하지 못해도 메모리 캐시는 그대로 쓴다
+            }
+        });
+    }
+
+    private void deliver(String query, List<AddressSuggestion> suggestions, boolean searching) {
+        callbackExecutor.execute(() -> {
+            synchronized (this) {
+                // 그 사이 입력이 바뀌었으면 버린다
+                if (!query.equals(currentQuery)) {
+                    return;
+                }
+            }
+            listener.onSuggestions(query, suggestions, searching);
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package org.techtown.weatherapp;
+
+/**
+ * 주소 자동완성 후보 하나. 좌표가 이미 정해져 있어 고르면 지오코딩 없이 바로 저장할 수 있다.
+ */
+final class AddressSuggestion {
+    final String label;
+    final double latitude;
+    final double longitude;
+
+    AddressSuggestion(String label, double latitude, double longitude) {
+        this.label = label;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AddressSuggestion)) {
+            return false;
+        }
+        AddressSuggestion other = (AddressSuggestion) o;
+        return label.equals(other.label)
+                && Double.compare(latitude, other.latitude) == 0
+                && Double.compare(longitude, other.longitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = label.hashCode();
+        result = 31 * result + Double.hashCode(latitude);
+        result = 31 * result + Double.hashCode(longitude);
+        return result;
+    }
+
+    // 목록 어댑터가 그대로 표시한다
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,197 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Retrofit/OkHttp/Gson 구성을 한 번만 만들어 공유한다.
+ * OkHttpClient 하나(연결 풀, DNS 캐시, gzip)를 Retrofit 과 Picasso 가 함께 쓴다.
+ * onCreate 에서 initialize() 를 백그라운드 스레드로 미리 실행해 두면
+ * 첫 요청이 UI 스레드에서 생성 비용을 치르지 않는다. 여러 스레드에서 호출해도 안전하다.
+ */
+public class ApiClient {
+    private static final String BASE_URL = "https://api.openweathermap.org/data/2.5/";
+    // 일괄 새로고침 시 한 호스트로 동시에 나가는 요청 수 상한
+    static final int MAX_REQUESTS_PER_HOST = 4;
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 15;
+    // 연결 유지 시간 안에 다시 미리 연결할 필요는 없다
+    private static final long PREWARM_INTERVAL_MILLIS = 60 * 1000L;
+
+    private static final CompletableFuture<WeatherService> READY = new CompletableFuture<>();
+    private static volatile Retrofit retrofit = null;
+    private static volatile OkHttpClient httpClient = null;
+    private static long lastPrewarmAt = 0;
+
+    // 실제 호출 시점까지 생성을 미루는 WeatherService (요청은 백그라운드 스레드에서 만들어진다)
+    private static final WeatherService LAZY_SERVICE = new WeatherService() {
+        @Override
+        public Call<WeatherResponse> getWeather(double latitude, double longitude, String apiKey,
+                                                String units, String lang) {
+            return getWeatherService().getWeather(latitude, longitude, apiKey, units, lang);
+        }
+
+        @Override
+        public Call<WeatherGroupResponse> getWeatherGroup(String cityIds, String apiKey,
+                                                          String units, String lang) {
+            return getWeatherService().getWeatherGroup(cityIds, apiKey, units, lang);
+        }
+
+        @Override
+        public Call<ForecastSeries> getForecast(double latitude, double longitude, String apiKey,
+                                                String units, String lang) {
+            return getWeatherService().getForecast(latitude, longitude, apiKey, units, lang);
+        }
+    };
+
+    // hedge/재시도 타이머와 회로 차단기는 화면이 다시 만들어져도 유지되도록 프로세스 전체에서 공유
+    private static final ScheduledExecutorService RESILIENCE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor();
+    // API 키 하나의 분당/일일 한도를 모든 레인이 나눠 쓴다
+    private static final QuotaBudget QUOTA_BUDGET = new QuotaBudget(TimeSource.SYSTEM, RESILIENCE_SCHEDULER,
+            QuotaBudget.DEFAULT_PER_MINUTE, QuotaBudget.DEFAULT_PER_DAY);
+    private static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker(TimeSource.SYSTEM,
+            CircuitBreaker.DEFAULT_FAILURE_THRESHOLD, CircuitBreaker.DEFAULT_OPEN_MILLIS);
+    // 재시도와 hedge 도 예산을 쓰므로 예산 아래에 둔다. 예산이 빠듯하면 hedge 는 보내지 않는다
+    private static final ResilientWeatherService[] LANE_SERVICES =
+            new ResilientWeatherService[QuotaBudget.Lane.values().length];
+
+    static {
+        ResiliencePolicy policy = ResiliencePolicy.observedP95(PerfMetrics.get().histogram(PerfMetrics.Stage.API_CALL));
+        for (QuotaBudget.Lane lane : QuotaBudget.Lane.values()) {
+            LANE_SERVICES[lane.ordinal()] = new ResilientWeatherService(
+                    new BudgetedWeatherService(LAZY_SERVICE, QUOTA_BUDGET, lane),
+                    RESILIENCE_SCHEDULER,
+                    CIRCUIT_BREAKER,
+                    policy.hedgeOnlyWhen(() -> QUOTA_BUDGET.hasHeadroom(QuotaBudget.Lane.BACKGROUND))
+            );
+        }
+    }
+
+    public static synchronized void initialize() {
+        if (READY.isDone()) {
+            return;
+        }
+        httpClient = buildHttpClient();
+        retrofit = buildRetrofit(BASE_URL, httpClient);
+        READY.complete(retrofit.create(WeatherService.class));
+    }
+
+    /** initialize() 가 끝나면 완료되는 future. */
+    public static CompletableFuture<WeatherService> ready() {
+        return READY;
+    }
+
+    public static Retrofit getClient() {
+        if (retrofit == null) {
+            initialize();
+        }
+        return retrofit;
+    }
+
+    public static OkHttpClient getHttpClient() {
+        if (!READY.isDone()) {
+            initialize();
+        }
+        return httpClient;
+    }
+
+    public static WeatherService getWeatherService() {
+        if (!READY.isDone()) {
+            initialize();
+        }
+        return READY.join();
+    }
+
+    public static WeatherService lazyWeatherService() {
+        return LAZY_SERVICE;
+    }
+
+    /** lazyWeatherService() 에 호출 예산(lane), hedge, 재시도, 회로 차단기를 더한 것. */
+    public static ResilientWeatherService weatherService(QuotaBudget.Lane lane) {
+        return LANE_SERVICES[lane.ordinal()];
+    }
+
+    public static QuotaBudget quotaBudget() {
+        return QUOTA_BUDGET;
+    }
+
+    /**
+     * 위치를 받는 동안 API 서버와 DNS 조회, TCP/TLS 연결을 미리 맺어 연결 풀에 넣어 둔다.
+     * 백그라운드 스레드에서 호출한다.
+     */
+    public static void prewarm() {
+        synchronized (ApiClient.class) {
+            long now = System.currentTimeMillis();
+            if (now - lastPrewarmAt < PREWARM_INTERVAL_MILLIS) {
+                return;
+            }
+            lastPrewarmAt = now;
+        }
+        prewarm(getHttpClient(), HttpUrl.get(BASE_URL));
+    }
+
+    static void prewarm(OkHttpClient client, HttpUrl url) {
+        Request request = new Request.Builder().url(url).head().build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(okhttp3.Call call, IOException e) {
+                // 미리 연결하지 못해도 실제 요청이 다시 연결한다
+            }
+
+            @Override
+            public void onResponse(okhttp3.Call call, Response response) {
+                response.close();
+            }
+        });
+    }
+
+    // 테스트에서 로컬 서버(MockWebServer)를 가리킬 때 사용
+    static WeatherService createWeatherService(String baseUrl) {
+        return createWeatherService(baseUrl, buildHttpClient());
+    }
+
+    static WeatherService createWeatherService(String baseUrl, OkHttpClient client) {
+        return buildRetrofit(baseUrl, client).create(WeatherService.class);
+    }
+
+    // gzip 은 OkHttp 가 Accept-Encoding 을 붙이고 응답을 풀어 주므로 따로 설정하지 않는다
+    static OkHttpClient buildHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dns(new CachingDns(Dns.SYSTEM, TimeSource.SYSTEM, CachingDns.DEFAULT_TTL_MILLIS))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .eventListenerFactory(MetricsEventListener.FACTORY)
+                .build();
+    }
+
+    private static Retrofit buildRetrofit(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(new TimingConverterFactory(GsonConverterFactory.create(WeatherJson.GSON)))
+                .build();
+    }
+}
\ No newline at end of file
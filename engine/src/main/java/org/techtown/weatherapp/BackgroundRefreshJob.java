@@ -0,0 +1,102 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재 위치와 저장된 위치 전체를 하나의 BulkWeatherRefresher 실행으로 묶어 캐시를 채운다.
+ * 같은 캐시 칸에 들어가는 위치는 한 번만 요청하고, 이미 실행 중이면 새 실행을 만들지 않는다.
+ * 포그라운드(WeatherViewModel)와 백그라운드(WeatherRefreshWorker)가 SHARED_GATE 를 함께 써서
+ * 한 프로세스에서 일괄 새로고침은 한 번에 하나만 돈다.
+ */
+class BackgroundRefreshJob {
+    static final AtomicBoolean SHARED_GATE = new AtomicBoolean(false);
+    static final String CURRENT_LOCATION_ID = "current";
+
+    private final BulkWeatherRefresher refresher;
+    private final WeatherCache cache;
+    private final AtomicBoolean gate;
+
+    BackgroundRefreshJob(BulkWeatherRefresher refresher, WeatherCache cache, AtomicBoolean gate) {
+        this.refresher = refresher;
+        this.cache = cache;
+        this.gate = gate;
+    }
+
+    /**
+     * 캐시를 읽으므로 백그라운드 스레드에서 호출해야 한다.
+     * 다른 실행이 진행 중이면 false 를 돌려주고 listener 는 호출되지 않는다.
+     */
+    boolean start(SavedLocation current, List<SavedLocation> saved, BulkWeatherRefresher.Listener listener) {
+        List<SavedLocation> targets = targets(current, saved);
+        if (targets.isEmpty() || !gate.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            refresher.refresh(targets, result -> {
+                gate.set(false);
+                listener.onComplete(result);
+            });
+        } catch (RuntimeException e) {
+            gate.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /** Worker 처럼 동기적으로 끝나야 하는 곳에서 쓴다. 합쳐졌거나 시간이 지나면 null. */
+    BulkWeatherRefresher.Result runBlocking(SavedLocation current, List<SavedLocation> saved,
+                                            long timeoutMillis) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<BulkWeatherRefresher.Result> outcome = new AtomicReference<>();
+        boolean started = start(current, saved, result -> {
+            outcome.set(result);
+            done.countDown();
+        });
+        if (!started) {
+            return null;
+        }
+        done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        return outcome.get();
+    }
+
+    /** 대상 중 가장 오래된 캐시 시각. 캐시가 없는 대상이 있으면 0, 대상이 하나도 없으면 -1. */
+    long oldestFetchedAt(SavedLocation current, List<SavedLocation> saved) {
+        List<SavedLocation> targets = targets(current, saved);
+        if (targets.isEmpty()) {
+            return -1;
+        }
+
+        long oldest = Long.MAX_VALUE;
+        for (SavedLocation target : targets) {
+            WeatherCache.Entry entry = cache.get(cache.keyFor(target.latitude, target.longitude));
+            if (entry == null) {
+                return 0;
+            }
+            oldest = Math.min(oldest, entry.getFetchedAt());
+        }
+        return oldest;
+    }
+
+    // 캐시 키가 같은 위치(현재 위치가 저장된 주소 근처인 경우 등)는 하나로 합친다
+    List<SavedLocation> targets(SavedLocation current, List<SavedLocation> saved) {
+        Map<String, SavedLocation> byKey = new LinkedHashMap<>();
+        if (current != null) {
+            byKey.put(cache.keyFor(current.latitude, current.longitude), current);
+        }
+        for (SavedLocation location : saved) {
+            String key = cache.keyFor(location.latitude, location.longitude);
+            if (!byKey.containsKey(key)) {
+                byKey.put(key, location);
+            }
+        }
+        return new ArrayList<>(byKey.values());
+    }
+}
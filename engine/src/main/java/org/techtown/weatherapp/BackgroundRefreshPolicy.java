@@ -0,0 +1,99 @@
+package org.techtown.weatherapp;
+
+import java.util.TimeZone;
+
+/**
+ * 백그라운드 새로고침을 다음에 언제 깨울지 정한다.
+ * 데이터 나이, 현지 시각(밤에는 드물게, 아침 전에는 미리), 충전 여부, 네트워크 종류를 본다.
+ * 낮 간격은 WeatherRepository 의 stale-while-revalidate 창 안에 들어오도록 잡아서
+ * 앱을 열면 거의 항상 캐시된 날씨를 바로 보여줄 수 있게 한다.
+ */
+class BackgroundRefreshPolicy {
+    // WorkManager 의 주기 작업 최소 간격과 같다
+    static final long MIN_INTERVAL_MILLIS = 15 * 60 * 1000L;
+    static final long MAX_INTERVAL_MILLIS = 6 * 60 * 60 * 1000L;
+    static final long DAY_INTERVAL_MILLIS = 30 * 60 * 1000L;
+    static final long NIGHT_INTERVAL_MILLIS = 2 * 60 * 60 * 1000L;
+    // 이 시각(현지) 전에는 한 번 깨워서 하루의 첫 실행이 네트워크를 기다리지 않게 한다
+    static final int MORNING_HOUR = 6;
+    static final int NIGHT_START_HOUR = 23;
+    // 앞/뒤 실행이 이 간격 안이면 하나로 합친다 (포그라운드 새로고침 직후 등)
+    static final long COALESCE_WINDOW_MILLIS = 10 * 60 * 1000L;
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    enum Network { NONE, METERED, UNMETERED }
+
+    static final class Conditions {
+        // 대상 중 가장 오래된 캐시 시각, 캐시가 없는 대상이 있으면 0
+        final long oldestFetchedAt;
+        final boolean charging;
+        final Network network;
+
+        Conditions(long oldestFetchedAt, boolean charging, Network network) {
+            this.oldestFetchedAt = oldestFetchedAt;
+            this.charging = charging;
+            this.network = network;
+        }
+    }
+
+    private final TimeSource clock;
+    private final TimeZone timeZone;
+
+    BackgroundRefreshPolicy(TimeSource clock, TimeZone timeZone) {
+        this.clock = clock;
+        this.timeZone = timeZone;
+    }
+
+    /** 지금부터 다음 실행까지 기다릴 시간. */
+    long nextDelayMillis(Conditions conditions) {
+        long now = clock.currentTimeMillis();
+        long interval = isNight(now) ? NIGHT_INTERVAL_MILLIS : DAY_INTERVAL_MILLIS;
+        if (conditions.charging && conditions.network == Network.UNMETERED) {
+            interval /= 2;
+        } else if (!conditions.charging && conditions.network != Network.UNMETERED) {
+            // 배터리 + 모바일 데이터에서는 라디오를 덜 깨운다
+            interval *= 2;
+        }
+
+        // 가장 오래된 데이터가 interval 만큼 나이 들었을 때 깨운다
+        long delay = conditions.oldestFetchedAt <= 0
+                ? 0
+                : interval - Math.max(0, now - conditions.oldestFetchedAt);
+
+        long untilMorning = millisUntilMorning(now);
+        if (untilMorning > 0) {
+            delay = Math.min(delay, untilMorning);
+        }
+        return Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, delay));
+    }
+
+    /** 마지막 일괄 새로고침이 너무 최근이면 이번 실행은 건너뛴다. */
+    boolean shouldRun(long lastRunAt) {
+        return lastRunAt <= 0 || clock.currentTimeMillis() - lastRunAt >= COALESCE_WINDOW_MILLIS;
+    }
+
+    boolean isNight(long timeMillis) {
+        int hour = localHour(timeMillis);
+        return hour >= NIGHT_START_HOUR || hour < MORNING_HOUR;
+    }
+
+    // 밤이면 아침 MORNING_HOUR 직전(간격의 절반 전)까지 남은 시간, 낮이면 0
+    private long millisUntilMorning(long now) {
+        if (!isNight(now)) {
+            return 0;
+        }
+        long local = now + timeZone.getOffset(now);
+        long morning = Math.floorDiv(local, DAY_MILLIS) * DAY_MILLIS + MORNING_HOUR * HOUR_MILLIS;
+        if (morning <= local) {
+            morning += DAY_MILLIS;
+        }
+        return morning - DAY_INTERVAL_MILLIS / 2 - local;
+    }
+
+    private int localHour(long timeMillis) {
+        long local = timeMillis + timeZone.getOffset(timeMillis);
+        return (int) (Math.floorMod(local, DAY_MILLIS) / HOUR_MILLIS);
+    }
+}
@@ -0,0 +1,172 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * QuotaBudget 에서 토큰을 받은 뒤에야 실제 호출을 보낸다.
+ * 예산이 모자라 버려지면 네트워크 없이 QuotaExceededException 으로 끝난다.
+ */
+final class BudgetedCall<T> implements Call<T> {
+    private final Call<T> delegate;
+    private final QuotaBudget budget;
+    private final QuotaBudget.Lane lane;
+
+    private boolean executed;
+    private boolean granted;
+    private volatile boolean canceled;
+    private Callback<T> callback;
+    private WeatherRequestCoordinator.Handle ticket;
+
+    BudgetedCall(Call<T> delegate, QuotaBudget budget, QuotaBudget.Lane lane) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.lane = lane;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        synchronized (this) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+            this.callback = callback;
+        }
+
+        WeatherRequestCoordinator.Handle handle = budget.acquire(lane, new QuotaBudget.Permit() {
+            @Override
+            public void onGranted() {
+                synchronized (BudgetedCall.this) {
+                    if (canceled) {
+                        return;
+                    }
+                    granted = true;
+                }
+                delegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        callback.onResponse(BudgetedCall.this, response);
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        callback.onFailure(BudgetedCall.this, t);
+                    }
+                });
+            }
+
+            @Override
+            public void onRejected(QuotaExceededException e) {
+                synchronized (BudgetedCall.this) {
+                    if (canceled) {
+                        return;
+                    }
+                    granted = true;
+                }
+                callback.onFailure(BudgetedCall.this, e);
+            }
+        });
+        synchronized (this) {
+            ticket = handle;
+        }
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        synchronized (this) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+        }
+
+        CountDownLatch decided = new CountDownLatch(1);
+        QuotaExceededException[] rejected = new QuotaExceededException[1];
+        WeatherRequestCoordinator.Handle handle = budget.acquire(lane, new QuotaBudget.Permit() {
+            @Override
+            public void onGranted() {
+                decided.countDown();
+            }
+
+            @Override
+            public void onRejected(QuotaExceededException e) {
+                rejected[0] = e;
+                decided.countDown();
+            }
+        });
+
+        try {
+            decided.await();
+        } catch (InterruptedException e) {
+            handle.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (rejected[0] != null) {
+            throw rejected[0];
+        }
+        if (canceled) {
+            throw new IOException("Canceled");
+        }
+        return delegate.execute();
+    }
+
+    @Override
+    public boolean isExecuted() {
+        synchronized (this) {
+            return executed;
+        }
+    }
+
+    @Override
+    public void cancel() {
+        Callback<T> target = null;
+        WeatherRequestCoordinator.Handle waiting;
+        synchronized (this) {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+            waiting = granted ? null : ticket;
+            if (!granted && callback != null) {
+                target = callback;
+            }
+        }
+        // 아직 대기열에 있으면 토큰을 쓰지 않고 빠진다
+        if (waiting != null) {
+            waiting.cancel();
+        }
+        delegate.cancel();
+        if (target != null) {
+            target.onFailure(this, new IOException("Canceled"));
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || delegate.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new BudgetedCall<>(delegate.clone(), budget, lane);
+    }
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return delegate.timeout();
+    }
+}
@@ -0,0 +1,41 @@
+package org.techtown.weatherapp;
+
+import retrofit2.Call;
+
+/**
+ * WeatherService 의 모든 호출을 한 레인의 BudgetedCall 로 감싼다.
+ * 같은 QuotaBudget 을 쓰는 레인별 인스턴스를 ApiClient 가 만들어 둔다.
+ */
+class BudgetedWeatherService implements WeatherService {
+    private final WeatherService delegate;
+    private final QuotaBudget budget;
+    private final QuotaBudget.Lane lane;
+
+    BudgetedWeatherService(WeatherService delegate, QuotaBudget budget, QuotaBudget.Lane lane) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.lane = lane;
+    }
+
+    @Override
+    public Call<WeatherResponse> getWeather(double latitude, double longitude, String apiKey,
+                                            String units, String lang) {
+        return wrap(delegate.getWeather(latitude, longitude, apiKey, units, lang));
+    }
+
+    @Override
+    public Call<WeatherGroupResponse> getWeatherGroup(String cityIds, String apiKey,
+                                                      String units, String lang) {
+        return wrap(delegate.getWeatherGroup(cityIds, apiKey, units, lang));
+    }
+
+    @Override
+    public Call<ForecastSeries> getForecast(double latitude, double longitude, String apiKey,
+                                            String units, String lang) {
+        return wrap(delegate.getForecast(latitude, longitude, apiKey, units, lang));
+    }
+
+    private <T> Call<T> wrap(Call<T> call) {
+        return new BudgetedCall<>(call, budget, lane);
+    }
+}
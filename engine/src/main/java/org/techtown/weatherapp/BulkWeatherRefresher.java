@@ -0,0 +1,324 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * 저장된 위치 전체를 한 번에 새로 고친다.
+ * 이전 응답으로 도시 ID 를 알고 있는 위치는 group 엔드포인트로 최대 20개씩 묶고,
+ * 나머지는 동시 실행 수를 제한한 채 개별 /weather 호출로 받아 WeatherCache 에 채운다.
+ */
+public class BulkWeatherRefresher {
+    public static final int GROUP_BATCH_SIZE = 20;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private final WeatherService service;
+    private final String apiKey;
+    private final WeatherRequestCoordinator coordinator;
+    private final WeatherCache cache;
+    private final TimeSource clock;
+    private final Executor ioExecutor;
+    private final int maxConcurrency;
+    private final long maxAgeMillis;
+
+    public interface Listener {
+        void onComplete(Result result);
+    }
+
+    public BulkWeatherRefresher(WeatherService service, String apiKey,
+                                WeatherRequestCoordinator coordinator, WeatherCache cache,
+                                TimeSource clock, Executor ioExecutor, int maxConcurrency, long maxAgeMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.service = service;
+        this.apiKey = apiKey;
+        this.coordinator = coordinator;
+        this.cache = cache;
+        this.clock = clock;
+        this.ioExecutor = ioExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * 캐시를 읽으므로 백그라운드 스레드에서 호출해야 한다.
+     * 응답 처리(캐시 저장)는 ioExecutor 에서 하고, listener 도 ioExecutor 에서 한 번 호출된다.
+     * 새로 고칠 위치가 하나도 없으면 refresh 를 부른 스레드에서 바로 호출된다.
+     */
+    public void refresh(List<SavedLocation> locations, Listener listener) {
+        Run run = new Run(listener, locations.size());
+        Map<Long, List<Target>> byCityId = new HashMap<>();
+        long now = clock.currentTimeMillis();
+
+        for (SavedLocation location : locations) {
+            String key = cache.keyFor(location.latitude, location.longitude);
+            WeatherCache.Entry entry = cache.get(key);
+            if (entry != null && now - entry.getFetchedAt() <= maxAgeMillis) {
+                run.skipped++;
+                continue;
+            }
+
+            Target target = new Target(key, location.latitude, location.longitude);
+            long cityId = entry != null ? entry.getResponse().getCityId() : 0;
+            if (cityId > 0) {
+                List<Target> targets = byCityId.get(cityId);
+                if (targets == null) {
+                    targets = new ArrayList<>();
+                    byCityId.put(cityId, targets);
+                }
+                targets.add(target);
+            } else {
+                run.queue.add(new SingleTask(run, target));
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(byCityId.keySet());
+        for (int i = 0; i < ids.size(); i += GROUP_BATCH_SIZE) {
+            Map<Long, List<Target>> batch = new HashMap<>();
+            for (Long id : ids.subList(i, Math.min(i + GROUP_BATCH_SIZE, ids.size()))) {
+                batch.put(id, byCityId.get(id));
+            }
+            run.queue.addFirst(new GroupTask(run, batch));
+        }
+
+        run.pump();
+    }
+
+    private abstract static class Task {
+        final Run run;
+        long startedAt;
+
+        Task(Run run) {
+            this.run = run;
+        }
+
+        abstract void start();
+    }
+
+    private final class Run {
+        private final Listener listener;
+        private final Deque<Task> queue = new ArrayDeque<>();
+        private final List<Long> latencies = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private final int requested;
+        private int running;
+        private int skipped;
+        private int refreshed;
+        private int failed;
+        private int networkCalls;
+        private boolean finished;
+
+        Run(Listener listener, int requested) {
+            this.listener = listener;
+            this.requested = requested;
+        }
+
+        void pump() {
+            List<Task> toStart = new ArrayList<>();
+            Result result = null;
+            synchronized (this) {
+                while (running < maxConcurrency && !queue.isEmpty()) {
+                    Task task = queue.poll();
+                    running++;
+                    networkCalls++;
+                    task.startedAt = System.nanoTime();
+                    toStart.add(task);
+                }
+                if (running == 0 && queue.isEmpty() && !finished) {
+                    finished = true;
+                    result = buildResult();
+                }
+            }
+
+            for (Task task : toStart) {
+                task.start();
+            }
+            if (result != null) {
+                listener.onComplete(result);
+            }
+        }
+
+        void finish(Task task, int refreshedCount, int failedCount, List<Task> followUps) {
+            synchronized (this) {
+                running--;
+                refreshed += refreshedCount;
+                failed += failedCount;
+                latencies.add(System.nanoTime() - task.startedAt);
+                queue.addAll(followUps);
+            }
+            pump();
+        }
+
+        private Result buildResult() {
+            long[] sorted = new long[latencies.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            return new Result(requested, refreshed, skipped, failed, networkCalls,
+                    (System.nanoTime() - startedAt) / 1_000_000L, sorted);
+        }
+    }
+
+    private final class SingleTask extends Task {
+        private final Target target;
+
+        SingleTask(Run run, Target target) {
+            super(run);
+            this.target = target;
+        }
+
+        @Override
+        void start() {
+            coordinator.request(target.latitude, target.longitude, new WeatherRequestCoordinator.Listener() {
+                @Override
+                public void onSuccess(WeatherResponse response) {
+                    // Retrofit 콜백은 Android 에서 메인 스레드라서 디스크 쓰기는 ioExecutor 로 넘긴다
+                    ioExecutor.execute(() -> {
+                        cache.put(target.key, response, clock.currentTimeMillis());
+                        run.finish(SingleTask.this, 1, 0, new ArrayList<>());
+                    });
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    ioExecutor.execute(() -> run.finish(SingleTask.this, 0, 1, new ArrayList<>()));
+                }
+            });
+        }
+    }
+
+    private final class GroupTask extends Task implements Callback<WeatherGroupResponse> {
+        private final Map<Long, List<Target>> targets;
+
+        GroupTask(Run run, Map<Long, List<Target>> targets) {
+            super(run);
+            this.targets = targets;
+        }
+
+        @Override
+        void start() {
+            StringBuilder ids = new StringBuilder();
+            for (Long id : targets.keySet()) {
+                if (ids.length() > 0) {
+                    ids.append(',');
+                }
+                ids.append(id);
+            }
+            service.getWeatherGroup(ids.toString(), apiKey, "metric", "kr").enqueue(this);
+        }
+
+        @Override
+        public void onResponse(Call<WeatherGroupResponse> call, Response<WeatherGroupResponse> response) {
+            ioExecutor.execute(() -> store(response));
+        }
+
+        @Override
+        public void onFailure(Call<WeatherGroupResponse> call, Throwable t) {
+            ioExecutor.execute(() -> fallBack(targets));
+        }
+
+        private void store(Response<WeatherGroupResponse> response) {
+            WeatherGroupResponse body = response.body();
+            if (!response.isSuccessful() || body == null || body.getList() == null) {
+                fallBack(targets);
+                return;
+            }
+
+            Map<Long, List<Target>> missing = new HashMap<>(targets);
+            long fetchedAt = clock.currentTimeMillis();
+            int count = 0;
+            for (WeatherResponse weather : body.getList()) {
+                List<Target> matched = missing.remove(weather.getCityId());
+                if (matched == null) {
+                    continue;
+                }
+                for (Target target : matched) {
+                    cache.put(target.key, weather, fetchedAt);
+                    count++;
+                }
+            }
+            run.finish(this, count, 0, singlesFor(missing));
+        }
+
+        // group 호출이 실패하면 개별 /weather 호출로 다시 시도
+        private void fallBack(Map<Long, List<Target>> remaining) {
+            run.finish(this, 0, 0, singlesFor(remaining));
+        }
+
+        private List<Task> singlesFor(Map<Long, List<Target>> remaining) {
+            List<Task> tasks = new ArrayList<>();
+            for (List<Target> list : remaining.values()) {
+                for (Target target : list) {
+                    tasks.add(new SingleTask(run, target));
+                }
+            }
+            return tasks;
+        }
+    }
+
+    private static final class Target {
+        final String key;
+        final double latitude;
+        final double longitude;
+
+        Target(String key, double latitude, double longitude) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    public static final class Result {
+        private final int requested;
+        private final int refreshed;
+        private final int skipped;
+        private final int failed;
+        private final int networkCalls;
+        private final long elapsedMillis;
+        private final long[] sortedLatencyNanos;
+
+        Result(int requested, int refreshed, int skipped, int failed, int networkCalls,
+               long elapsedMillis, long[] sortedLatencyNanos) {
+            this.requested = requested;
+            this.refreshed = refreshed;
+            this.skipped = skipped;
+            this.failed = failed;
+            this.networkCalls = networkCalls;
+            this.elapsedMillis = elapsedMillis;
+            this.sortedLatencyNanos = sortedLatencyNanos;
+        }
+
+        public int getRequested() { return requested; }
+        public int getRefreshed() { return refreshed; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+        public int getNetworkCalls() { return networkCalls; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getThroughputPerSecond() {
+            return elapsedMillis == 0 ? refreshed : refreshed * 1000.0 / elapsedMillis;
+        }
+
+        /** 네트워크 호출 지연의 백분위수 (밀리초). */
+        public long latencyPercentileMillis(double percentile) {
+            if (sortedLatencyNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencyNanos.length) - 1;
+            index = Math.max(0, Math.min(index, sortedLatencyNanos.length - 1));
+            return sortedLatencyNanos[index] / 1_000_000L;
+        }
+    }
+}
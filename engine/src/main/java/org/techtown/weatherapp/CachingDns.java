@@ -0,0 +1,64 @@
+package org.techtown.weatherapp;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Dns;
+
+/**
+ * 프로세스 안에서 DNS 결과를 TTL 동안 재사용한다.
+ * 만료된 항목은 다시 조회하고, 조회가 실패하면 만료된 결과라도 돌려준다.
+ */
+final class CachingDns implements Dns {
+    static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+    private static final int MAX_ENTRIES = 32;
+
+    private final Dns delegate;
+    private final TimeSource clock;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    CachingDns(Dns delegate, TimeSource clock, long ttlMillis) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        long now = clock.currentTimeMillis();
+        Entry entry = entries.get(hostname);
+        if (entry != null && now - entry.resolvedAt < ttlMillis) {
+            return entry.addresses;
+        }
+
+        List<InetAddress> addresses;
+        try {
+            addresses = delegate.lookup(hostname);
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                return entry.addresses;
+            }
+            throw e;
+        }
+
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(hostname, new Entry(addresses, now));
+        return addresses;
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+
+        Entry(List<InetAddress> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.techtown.weatherapp;
+
+/**
+ * 연속 실패가 일정 횟수를 넘으면 잠시 네트워크 호출을 막는 회로 차단기.
+ * 열린 시간이 지나면 한 번의 시험 요청(half-open)만 통과시키고 그 결과로 닫거나 다시 연다.
+ */
+public class CircuitBreaker {
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_MILLIS = 30 * 1000L;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final TimeSource clock;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(TimeSource clock, int failureThreshold, long openMillis) {
+        this.clock = clock;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.currentTimeMillis();
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * 시험 요청이 성공도 실패도 아닌 채로 끝났을 때(취소, 예산 부족으로 버려짐) 부른다.
+     * 반쯤 열린 상태는 그대로 두고 다음 요청을 새 시험 요청으로 받는다.
+     */
+    public synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
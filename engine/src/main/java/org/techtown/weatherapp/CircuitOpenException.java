@@ -0,0 +1,12 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+
+/** 회로 차단기가 열려 있어 네트워크 요청을 보내지 않았음을 알린다. */
+public class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException() {
+        super("circuit breaker is open");
+    }
+}
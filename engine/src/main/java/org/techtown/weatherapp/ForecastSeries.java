@@ -0,0 +1,140 @@
+package org.techtown.weatherapp;
+
+import java.util.Arrays;
+
+/**
+ * 5일/3시간 예보(/forecast)를 열 단위 원시 배열로 담는다.
+ * 항목마다 객체를 만들지 않고, 설명/아이콘 문자열은 사전(dictionary)에 한 번만 두고 인덱스로 가리킨다.
+ * WeatherJson 의 스트리밍 어댑터가 JSON 에서 바로 채운다.
+ */
+public final class ForecastSeries {
+    private final long cityId;
+    private final String cityName;
+    private final int timezoneOffsetSeconds;
+    private final int size;
+    private final long[] timeMillis;
+    private final float[] temperature;
+    private final float[] feelsLike;
+    private final byte[] humidity;
+    private final float[] windSpeed;
+    private final short[] descriptionIndex;
+    private final short[] iconIndex;
+    private final String[] dictionary;
+
+    ForecastSeries(long cityId, String cityName, int timezoneOffsetSeconds, int size,
+                   long[] timeMillis, float[] temperature, float[] feelsLike, byte[] humidity,
+                   float[] windSpeed, short[] descriptionIndex, short[] iconIndex, String[] dictionary) {
+        this.cityId = cityId;
+        this.cityName = cityName;
+        this.timezoneOffsetSeconds = timezoneOffsetSeconds;
+        this.size = size;
+        this.timeMillis = timeMillis;
+        this.temperature = temperature;
+        this.feelsLike = feelsLike;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+        this.descriptionIndex = descriptionIndex;
+        this.iconIndex = iconIndex;
+        this.dictionary = dictionary;
+    }
+
+    public long getCityId() {
+        return cityId;
+    }
+
+    public String getCityName() {
+        return cityName;
+    }
+
+    public int getTimezoneOffsetSeconds() {
+        return timezoneOffsetSeconds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timeMillis(int index) {
+        return timeMillis[check(index)];
+    }
+
+    public float temperature(int index) {
+        return temperature[check(index)];
+    }
+
+    public float feelsLike(int index) {
+        return feelsLike[check(index)];
+    }
+
+    public int humidity(int index) {
+        return humidity[check(index)];
+    }
+
+    public float windSpeed(int index) {
+        return windSpeed[check(index)];
+    }
+
+    public String description(int index) {
+        return lookup(descriptionIndex[check(index)]);
+    }
+
+    public String iconCode(int index) {
+        return lookup(iconIndex[check(index)]);
+    }
+
+    /** fromIndex(포함)부터 toIndex(제외)까지의 최저/최고 기온. 일별 요약에 쓴다. */
+    public float minTemperature(int fromIndex, int toIndex) {
+        float min = Float.POSITIVE_INFINITY;
+        for (int i = fromIndex; i < toIndex; i++) {
+            min = Math.min(min, temperature[check(i)]);
+        }
+        return min;
+    }
+
+    public float maxTemperature(int fromIndex, int toIndex) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = fromIndex; i < toIndex; i++) {
+            max = Math.max(max, temperature[check(i)]);
+        }
+        return max;
+    }
+
+    /** 현지 시각 기준으로 날짜가 바뀌는 첫 항목의 인덱스들 (0 포함). */
+    public int[] dayStartIndices() {
+        int[] starts = new int[size];
+        int count = 0;
+        long previousDay = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long day = Math.floorDiv(timeMillis[i] + timezoneOffsetSeconds * 1000L, 86_400_000L);
+            if (day != previousDay) {
+                starts[count++] = i;
+                previousDay = day;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    // 직렬화(캐시 등)를 위한 원시 접근
+    int descriptionIndex(int index) {
+        return descriptionIndex[check(index)];
+    }
+
+    int iconIndex(int index) {
+        return iconIndex[check(index)];
+    }
+
+    String[] dictionary() {
+        return dictionary;
+    }
+
+    private String lookup(short index) {
+        return index < 0 ? null : dictionary[index];
+    }
+
+    private int check(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,200 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 입력한 주소 문자열 → 지오코딩 결과 캐시.
+ * 같은 주소를 다시 입력하면 Geocoder 를 부르지 않는다. 메모리 LRU 를 두고 찾은 결과만
+ * JSON 파일 하나에 통째로 저장한다. 결과가 없던 입력(오타 등)은 잠깐만 메모리에 기억한다.
+ * 여러 스레드에서 호출해도 안전하고, load/save 는 디스크를 건드리므로 백그라운드 스레드에서 호출한다.
+ */
+final class ForwardGeocodeCache {
+    static final int DEFAULT_CAPACITY = 256;
+    // 주소의 좌표는 거의 바뀌지 않는다
+    static final long RESOLVED_TTL_MILLIS = 90L * 24 * 60 * 60 * 1000;
+    static final long NOT_FOUND_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private final File file;
+    private final TimeSource clock;
+    private final Map<String, Cached> entries;
+
+    ForwardGeocodeCache(File file, TimeSource clock) {
+        this(file, clock, DEFAULT_CAPACITY);
+    }
+
+    ForwardGeocodeCache(File file, TimeSource clock, int capacity) {
+        this.file = file;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Cached>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** 공백과 대소문자 차이는 같은 입력으로 본다. */
+    static String normalize(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = builder.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                builder.append(' ');
+                pendingSpace = false;
+            }
+            builder.append(c);
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 캐시에 없거나 만료되었으면 null, 찾을 수 없던 주소면 빈 목록.
+     * 적중/실패 카운터는 Geocoder 를 실제로 부를지 정하는 쪽에서 센다.
+     */
+    synchronized List<AddressSuggestion> get(String query) {
+        String key = normalize(query);
+        Cached entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            entries.remove(key);
+            entry = null;
+        }
+        return entry != null ? entry.places : null;
+    }
+
+    /** 만료되지 않은 결과(찾을 수 없음 포함)가 있는지. */
+    boolean contains(String query) {
+        return get(query) != null;
+    }
+
+    synchronized void put(String query, List<AddressSuggestion> places) {
+        entries.put(normalize(query), new Cached(Collections.unmodifiableList(new ArrayList<>(places)),
+                clock.currentTimeMillis()));
+    }
+
+    /** 만료되지 않은 찾은 결과 전체 (자동완성 색인용). */
+    synchronized Map<String, List<AddressSuggestion>> resolved() {
+        Map<String, List<AddressSuggestion>> resolved = new LinkedHashMap<>();
+        for (Map.Entry<String, Cached> entry : entries.entrySet()) {
+            if (!entry.getValue().places.isEmpty() && !isExpired(entry.getValue())) {
+                resolved.put(entry.getKey(), entry.getValue().places);
+            }
+        }
+        return resolved;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        Stored[] stored;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            stored = WeatherJson.GSON.fromJson(reader, Stored[].class);
+        } catch (IOException | JsonParseException e) {
+            file.delete();
+            return;
+        }
+        if (stored == null) {
+            return;
+        }
+
+        synchronized (this) {
+            // 파일은 오래된 것부터 저장되어 있으므로 순서대로 넣으면 LRU 순서가 복원된다
+            for (Stored item : stored) {
+                if (item == null || item.query == null || item.places == null || item.places.isEmpty()) {
+                    continue;
+                }
+                Cached entry = new Cached(Collections.unmodifiableList(item.places), item.resolvedAt);
+                if (!isExpired(entry) && !entries.containsKey(item.query)) {
+                    entries.put(item.query, entry);
+                }
+            }
+        }
+    }
+
+    void save() throws IOException {
+        List<Stored> stored = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, Cached> entry : entries.entrySet()) {
+                if (!entry.getValue().places.isEmpty()) {
+                    stored.add(new Stored(entry.getKey(), entry.getValue().resolvedAt, entry.getValue().places));
+                }
+            }
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            WeatherJson.GSON.toJson(stored, writer);
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    private boolean isExpired(Cached entry) {
+        long ttl = entry.places.isEmpty() ? NOT_FOUND_TTL_MILLIS : RESOLVED_TTL_MILLIS;
+        return clock.currentTimeMillis() - entry.resolvedAt > ttl;
+    }
+
+    private static final class Cached {
+        final List<AddressSuggestion> places;
+        final long resolvedAt;
+
+        Cached(List<AddressSuggestion> places, long resolvedAt) {
+            this.places = places;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    // 파일 형식
+    private static final class Stored {
+        @SerializedName("query")
+        final String query;
+
+        @SerializedName("resolvedAt")
+        final long resolvedAt;
+
+        @SerializedName("places")
+        final List<AddressSuggestion> places;
+
+        Stored(String query, long resolvedAt, List<AddressSuggestion> places) {
+            this.query = query;
+            this.resolvedAt = resolvedAt;
+            this.places = places;
+        }
+    }
+}
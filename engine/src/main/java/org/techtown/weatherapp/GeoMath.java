@@ -0,0 +1,18 @@
+package org.techtown.weatherapp;
+
+final class GeoMath {
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoMath() {
+    }
+
+    /** 두 좌표 사이의 대원 거리 (미터). */
+    static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,190 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 지오코딩 요청 스케줄러. 한 번에 하나의 조회만 진행하며
+ * 사용자 요청(USER)을 백그라운드 요청(BACKGROUND)보다 먼저 처리한다.
+ * 같은 키로 새 요청이 들어오면 이전 요청은 결과를 버리고(최신 우선),
+ * 제한 시간을 넘긴 조회는 TimeoutException 으로 끝낸 뒤 다음 요청으로 넘어간다.
+ */
+final class GeocodeScheduler {
+    static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    enum Priority {
+        USER,
+        BACKGROUND
+    }
+
+    interface Lookup<T> {
+        /** 결과는 done 으로 한 번만 알린다. 동기/비동기 어느 쪽이든 된다. */
+        void start(Completion<T> done) throws Exception;
+    }
+
+    interface Completion<T> {
+        void onResult(T result);
+
+        void onError(Throwable t);
+    }
+
+    private final ScheduledExecutorService timer;
+    // 제한 시간을 넘겨 버린 조회가 스레드를 계속 쥐고 있어도 다음 조회는 다른 스레드에서 돈다
+    private final Executor lookupExecutor;
+    private final long timeoutMillis;
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>(
+            Comparator.<Task<?>>comparingInt(task -> task.priority.ordinal())
+                    .thenComparingLong(task -> task.sequence));
+    private Task<?> running;
+    private long nextSequence;
+
+    GeocodeScheduler(long timeoutMillis) {
+        this(Executors.newSingleThreadScheduledExecutor(), Executors.newCachedThreadPool(), timeoutMillis);
+    }
+
+    GeocodeScheduler(ScheduledExecutorService timer, Executor lookupExecutor, long timeoutMillis) {
+        this.timer = timer;
+        this.lookupExecutor = lookupExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * supersedeKey 가 null 이 아니면 같은 키로 대기 중이거나 진행 중인 이전 요청을 대신한다.
+     * 대체되거나 취소된 요청의 callback 은 호출되지 않는다.
+     */
+    synchronized <T> WeatherRequestCoordinator.Handle submit(Priority priority, String supersedeKey,
+                                                            Lookup<T> lookup, Completion<T> callback) {
+        if (supersedeKey != null) {
+            List<Task<?>> superseded = new ArrayList<>();
+            for (Task<?> queued : queue) {
+                if (supersedeKey.equals(queued.key)) {
+                    superseded.add(queued);
+                }
+            }
+            queue.removeAll(superseded);
+            if (running != null && supersedeKey.equals(running.key)) {
+                abandonRunning();
+            }
+        }
+
+        Task<T> task = new Task<>(priority, supersedeKey, nextSequence++, lookup, callback);
+        queue.add(task);
+        startNext();
+        return () -> cancel(task);
+    }
+
+    synchronized int pendingCount() {
+        return queue.size() + (running != null ? 1 : 0);
+    }
+
+    void shutdown() {
+        timer.shutdownNow();
+        if (lookupExecutor instanceof ExecutorService) {
+            ((ExecutorService) lookupExecutor).shutdownNow();
+        }
+    }
+
+    private synchronized void cancel(Task<?> task) {
+        task.cancelled = true;
+        if (!queue.remove(task) && running == task) {
+            abandonRunning();
+            startNext();
+        }
+    }
+
+    // 진행 중인 조회는 멈출 수 없으니 결과만 버리고 자리를 비운다
+    private void abandonRunning() {
+        running.cancelled = true;
+        running.finished = true;
+        if (running.timeout != null) {
+            running.timeout.cancel(false);
+        }
+        running = null;
+    }
+
+    private void startNext() {
+        if (running != null || queue.isEmpty()) {
+            return;
+        }
+
+        Task<?> task = queue.poll();
+        running = task;
+        task.timeout = timer.schedule(
+                () -> task.complete(null, new TimeoutException("geocode timed out")),
+                timeoutMillis, TimeUnit.MILLISECONDS);
+        lookupExecutor.execute(task::run);
+    }
+
+    private final class Task<T> implements Completion<T> {
+        final Priority priority;
+        final String key;
+        final long sequence;
+        final Lookup<T> lookup;
+        final Completion<T> callback;
+        boolean cancelled;
+        boolean finished;
+        ScheduledFuture<?> timeout;
+
+        Task(Priority priority, String key, long sequence, Lookup<T> lookup, Completion<T> callback) {
+            this.priority = priority;
+            this.key = key;
+            this.sequence = sequence;
+            this.lookup = lookup;
+            this.callback = callback;
+        }
+
+        void run() {
+            try {
+                lookup.start(this);
+            } catch (Exception e) {
+                complete(null, e);
+            }
+        }
+
+        @Override
+        public void onResult(T result) {
+            complete(result, null);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            complete(null, t);
+        }
+
+        void complete(T result, Throwable error) {
+            boolean deliver;
+            synchronized (GeocodeScheduler.this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                deliver = !cancelled;
+                if (running == this) {
+                    running = null;
+                    startNext();
+                }
+            }
+
+            if (!deliver) {
+                return;
+            }
+            if (error != null) {
+                callback.onError(error);
+            } else {
+                callback.onResult(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * OkHttp 호출 단계(DNS, 연결, TLS, 첫 바이트까지, 전체 호출)를 PerfMetrics 에 기록한다.
+ * API_CALL 은 hedge 지연(ResiliencePolicy.observedP95)의 근거라서 취소된 호출은 넣지 않는다.
+ */
+final class MetricsEventListener extends EventListener {
+    static final EventListener.Factory FACTORY = call -> new MetricsEventListener(PerfMetrics.get());
+
+    private final PerfMetrics metrics;
+    private boolean apiCall;
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestSent;
+
+    MetricsEventListener(PerfMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        // 미리 연결하는 HEAD 요청은 연결 단계만 기록한다
+        apiCall = !"HEAD".equals(call.request().method());
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.record(PerfMetrics.Stage.DNS, System.nanoTime() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.record(PerfMetrics.Stage.TLS, System.nanoTime() - secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        metrics.record(PerfMetrics.Stage.CONNECT, System.nanoTime() - connectStart);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (apiCall && requestSent != 0) {
+            metrics.record(PerfMetrics.Stage.TTFB, System.nanoTime() - requestSent);
+        }
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        recordApiCall(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        recordApiCall(call);
+    }
+
+    // 진 hedge 호출은 취소되는 순간 끝나서 실제보다 짧게 잡힌다. 넣으면 p95 가 내려가고
+    // hedge 가 더 일찍 나가 취소되는 호출이 다시 늘어난다
+    private void recordApiCall(Call call) {
+        if (apiCall && !call.isCanceled()) {
+            metrics.record(PerfMetrics.Stage.API_CALL, System.nanoTime() - callStart);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.techtown.weatherapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.TimeZone;
+
+/**
+ * 위치(WeatherCache 와 같은 격자 칸)마다 ObservationLog 파일 하나에 받은 날씨를 쌓는다.
+ * 화면과 백그라운드 작업이 같은 파일을 쓰므로 모든 접근은 프로세스 전체 잠금 하나로 직렬화한다.
+ * 디스크 입출력을 하므로 백그라운드 스레드에서 호출해야 한다.
+ */
+class ObservationHistory {
+    private static final Object LOCK = new Object();
+    private static final String EXTENSION = ".obs";
+
+    private final File directory;
+    private final double gridDegrees;
+    private final TimeZone timeZone;
+
+    ObservationHistory(File directory, double gridDegrees, TimeZone timeZone) {
+        this.directory = directory;
+        this.gridDegrees = gridDegrees;
+        this.timeZone = timeZone;
+    }
+
+    /** 기록에 실패해도 화면 동작에는 영향이 없으므로 예외 대신 false. */
+    boolean record(double latitude, double longitude, WeatherResponse response, long observedAt) {
+        if (response == null || response.getMain() == null) {
+            return false;
+        }
+
+        synchronized (LOCK) {
+            try (ObservationLog log = open(latitude, longitude)) {
+                Main main = response.getMain();
+                float windSpeed = response.getWind() != null ? (float) response.getWind().getSpeed() : 0f;
+                return log.append(observedAt, (float) main.getTemp(), (float) main.getFeelsLike(),
+                        main.getHumidity(), windSpeed);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    ObservationSeries query(double latitude, double longitude, long fromMillis, long toMillis) {
+        synchronized (LOCK) {
+            File file = fileFor(latitude, longitude);
+            if (!file.isFile()) {
+                return ObservationSeries.EMPTY;
+            }
+            try (ObservationLog log = new ObservationLog(file, timeZone)) {
+                return log.query(fromMillis, toMillis);
+            } catch (IOException e) {
+                return ObservationSeries.EMPTY;
+            }
+        }
+    }
+
+    /** 모든 위치의 기록을 줄인다. 줄인 파일 수. */
+    int compactAll(long now) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            return 0;
+        }
+
+        int compacted = 0;
+        synchronized (LOCK) {
+            for (File file : files) {
+                try (ObservationLog log = new ObservationLog(file, timeZone)) {
+                    if (log.compact(now)) {
+                        compacted++;
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        return compacted;
+    }
+
+    private ObservationLog open(double latitude, double longitude) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        return new ObservationLog(fileFor(latitude, longitude), timeZone);
+    }
+
+    private File fileFor(double latitude, double longitude) {
+        return new File(directory, WeatherCache.keyFor(latitude, longitude, gridDegrees) + EXTENSION);
+    }
+}
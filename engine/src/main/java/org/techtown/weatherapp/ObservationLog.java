@@ -0,0 +1,318 @@
+package org.techtown.weatherapp;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.TimeZone;
+
+/**
+ * 위치 하나의 관측 기록을 고정 길이 이진 레코드로 덧붙이는 시계열 파일.
+ * 레코드는 시간순이므로 범위 조회는 메모리 매핑한 파일에서 이진 탐색 후 원시 배열로 바로 읽는다.
+ * compact() 는 오래된 원본을 시간 단위로, 더 오래된 것은 (현지 시각) 일 단위로 줄인 새 파일로 바꾼다.
+ *
+ * 파일 형식: 헤더 16바이트(magic, 버전, 레코드 크기, 예약) 뒤에 32바이트 레코드가 이어진다.
+ * 레코드: 시각(long), 평균/최저/최고 기온, 체감 온도(float), 습도(byte), 해상도(byte), 표본 수(unsigned short), 풍속(float)
+ */
+final class ObservationLog implements Closeable {
+    static final int RESOLUTION_RAW = 0;
+    static final int RESOLUTION_HOURLY = 1;
+    static final int RESOLUTION_DAILY = 2;
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    // 같은 관측(캐시 적중 등)이 여러 번 들어오지 않도록 원본은 1분에 하나까지만 둔다
+    static final long MIN_RAW_SPACING_MILLIS = 60 * 1000L;
+    static final long RAW_RETENTION_MILLIS = 2 * 24 * 60 * 60 * 1000L;
+    static final long HOURLY_RETENTION_MILLIS = 30 * 24 * 60 * 60 * 1000L;
+
+    private static final int MAGIC = 0x4F425331; // "OBS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    private final File file;
+    private final TimeZone timeZone;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private FileChannel channel;
+    private int count;
+    private long lastTime;
+
+    ObservationLog(File file, TimeZone timeZone) throws IOException {
+        this.file = file;
+        this.timeZone = timeZone;
+        open();
+    }
+
+    /** 새 관측을 덧붙인다. 마지막 기록보다 MIN_RAW_SPACING_MILLIS 이상 뒤가 아니면 버리고 false. */
+    synchronized boolean append(long timeMillis, float temperature, float feelsLike, int humidity,
+                                float windSpeed) throws IOException {
+        if (count > 0 && timeMillis < lastTime + MIN_RAW_SPACING_MILLIS) {
+            return false;
+        }
+        writeRecord(channel, (long) count * RECORD_SIZE + HEADER_SIZE, timeMillis, temperature, temperature,
+                temperature, feelsLike, humidity, RESOLUTION_RAW, 1, windSpeed);
+        count++;
+        lastTime = timeMillis;
+        return true;
+    }
+
+    /** fromMillis(포함) 이상 toMillis(제외) 미만의 점. */
+    synchronized ObservationSeries query(long fromMillis, long toMillis) throws IOException {
+        if (count == 0 || fromMillis >= toMillis) {
+            return ObservationSeries.EMPTY;
+        }
+
+        ByteBuffer map = map();
+        int from = lowerBound(map, fromMillis);
+        int to = lowerBound(map, toMillis);
+        int size = to - from;
+        long[] time = new long[size];
+        float[] temperature = new float[size];
+        float[] min = new float[size];
+        float[] max = new float[size];
+        float[] feelsLike = new float[size];
+        byte[] humidity = new byte[size];
+        float[] windSpeed = new float[size];
+        byte[] resolution = new byte[size];
+        int[] samples = new int[size];
+        for (int i = 0; i < size; i++) {
+            int offset = HEADER_SIZE + (from + i) * RECORD_SIZE;
+            time[i] = map.getLong(offset);
+            temperature[i] = map.getFloat(offset + 8);
+            min[i] = map.getFloat(offset + 12);
+            max[i] = map.getFloat(offset + 16);
+            feelsLike[i] = map.getFloat(offset + 20);
+            humidity[i] = map.get(offset + 24);
+            resolution[i] = map.get(offset + 25);
+            samples[i] = map.getChar(offset + 26);
+            windSpeed[i] = map.getFloat(offset + 28);
+        }
+        return new ObservationSeries(size, time, temperature, min, max, feelsLike, humidity, windSpeed,
+                resolution, samples);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * now 기준으로 RAW_RETENTION_MILLIS 보다 오래된 원본은 시간 평균으로,
+     * HOURLY_RETENTION_MILLIS 보다 오래된 점은 하루 평균으로 합친다. 바꿀 것이 없으면 false.
+     */
+    synchronized boolean compact(long now) throws IOException {
+        if (count == 0) {
+            return false;
+        }
+        long rawCutoff = floorHour(now - RAW_RETENTION_MILLIS);
+        long hourlyCutoff = floorDay(now - HOURLY_RETENTION_MILLIS);
+
+        ByteBuffer map = map();
+        boolean needed = false;
+        for (int i = 0; i < count && !needed; i++) {
+            int offset = HEADER_SIZE + i * RECORD_SIZE;
+            long time = map.getLong(offset);
+            int resolution = map.get(offset + 25);
+            needed = (resolution == RESOLUTION_RAW && time < rawCutoff)
+                    || (resolution == RESOLUTION_HOURLY && time < hourlyCutoff);
+        }
+        if (!needed) {
+            return false;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        int written = 0;
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             FileChannel out = stream.getChannel()) {
+            writeHeader(out);
+            Bucket bucket = new Bucket();
+            for (int i = 0; i < count; i++) {
+                int offset = HEADER_SIZE + i * RECORD_SIZE;
+                long time = map.getLong(offset);
+                int resolution = map.get(offset + 25);
+                long start = time;
+                if (time < hourlyCutoff) {
+                    resolution = RESOLUTION_DAILY;
+                    start = floorDay(time);
+                } else if (time < rawCutoff && resolution == RESOLUTION_RAW) {
+                    resolution = RESOLUTION_HOURLY;
+                    start = floorHour(time);
+                }
+
+                if (bucket.samples > 0 && (bucket.start != start || bucket.resolution != resolution)) {
+                    written = bucket.writeTo(out, written);
+                }
+                if (bucket.samples == 0) {
+                    bucket.reset(start, resolution);
+                }
+                bucket.add(map, offset);
+            }
+            if (bucket.samples > 0) {
+                written = bucket.writeTo(out, written);
+            }
+            out.force(false);
+        }
+
+        channel.close();
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            open();
+            throw new IOException("Could not replace " + file);
+        }
+        open();
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void open() throws IOException {
+        // java.nio.file 은 API 26 부터라 RandomAccessFile 에서 채널을 얻는다
+        channel = new RandomAccessFile(file, "rw").getChannel();
+        long size = channel.size();
+        if (size < HEADER_SIZE || !hasValidHeader()) {
+            // 새 파일이거나 알 수 없는 형식이면 비우고 새로 시작한다
+            channel.truncate(0);
+            writeHeader(channel);
+            size = HEADER_SIZE;
+        }
+
+        count = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+        long valid = HEADER_SIZE + (long) count * RECORD_SIZE;
+        if (valid != size) {
+            // 쓰다가 끊긴 마지막 레코드는 버린다
+            channel.truncate(valid);
+        }
+        lastTime = 0;
+        if (count > 0) {
+            ByteBuffer time = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(time, valid - RECORD_SIZE);
+            lastTime = time.getLong(0);
+        }
+    }
+
+    private boolean hasValidHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(header, 0);
+        return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION
+                && header.getInt(8) == RECORD_SIZE;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + file);
+            }
+        }
+    }
+
+    private static void writeHeader(FileChannel target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE).putInt(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            target.write(header, header.position());
+        }
+    }
+
+    private void writeRecord(FileChannel target, long position, long timeMillis, float temperature, float min,
+                             float max, float feelsLike, int humidity, int resolution, int samples,
+                             float windSpeed) throws IOException {
+        record.clear();
+        record.putLong(timeMillis)
+                .putFloat(temperature)
+                .putFloat(min)
+                .putFloat(max)
+                .putFloat(feelsLike)
+                .put((byte) Math.max(0, Math.min(100, humidity)))
+                .put((byte) resolution)
+                .putChar((char) Math.min(Character.MAX_VALUE, samples))
+                .putFloat(windSpeed);
+        record.flip();
+        while (record.hasRemaining()) {
+            target.write(record, position + record.position());
+        }
+    }
+
+    private ByteBuffer map() throws IOException {
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                HEADER_SIZE + (long) count * RECORD_SIZE);
+        return map.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // time 이상인 첫 레코드의 인덱스
+    private int lowerBound(ByteBuffer map, long time) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (map.getLong(HEADER_SIZE + mid * RECORD_SIZE) < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private long floorHour(long time) {
+        return time - Math.floorMod(time + timeZone.getOffset(time), HOUR_MILLIS);
+    }
+
+    private long floorDay(long time) {
+        return time - Math.floorMod(time + timeZone.getOffset(time), DAY_MILLIS);
+    }
+
+    // 압축 중 같은 구간에 들어가는 레코드를 표본 수로 가중해 합친다
+    private final class Bucket {
+        long start;
+        int resolution;
+        int samples;
+        double temperatureSum;
+        double feelsLikeSum;
+        double humiditySum;
+        double windSpeedSum;
+        float min;
+        float max;
+
+        void reset(long start, int resolution) {
+            this.start = start;
+            this.resolution = resolution;
+            samples = 0;
+            temperatureSum = 0;
+            feelsLikeSum = 0;
+            humiditySum = 0;
+            windSpeedSum = 0;
+            min = Float.POSITIVE_INFINITY;
+            max = Float.NEGATIVE_INFINITY;
+        }
+
+        void add(ByteBuffer map, int offset) {
+            int weight = Math.max(1, (int) map.getChar(offset + 26));
+            temperatureSum += (double) map.getFloat(offset + 8) * weight;
+            min = Math.min(min, map.getFloat(offset + 12));
+            max = Math.max(max, map.getFloat(offset + 16));
+            feelsLikeSum += (double) map.getFloat(offset + 20) * weight;
+            humiditySum += (double) map.get(offset + 24) * weight;
+            windSpeedSum += (double) map.getFloat(offset + 28) * weight;
+            samples += weight;
+        }
+
+        int writeTo(FileChannel out, int index) throws IOException {
+            writeRecord(out, HEADER_SIZE + (long) index * RECORD_SIZE, start,
+                    (float) (temperatureSum / samples), min, max, (float) (feelsLikeSum / samples),
+                    (int) Math.round(humiditySum / samples), resolution, samples,
+                    (float) (windSpeedSum / samples));
+            samples = 0;
+            return index + 1;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.techtown.weatherapp;
+
+/**
+ * ObservationLog 범위 조회 결과. 점마다 객체를 만들지 않고 열 단위 원시 배열로 바로 차트에 넘긴다.
+ * 압축된 구간의 점은 그 시간/일의 평균이고 최저/최고와 표본 수를 함께 담는다.
+ */
+public final class ObservationSeries {
+    static final ObservationSeries EMPTY = new ObservationSeries(0, new long[0], new float[0], new float[0],
+            new float[0], new float[0], new byte[0], new float[0], new byte[0], new int[0]);
+
+    private final int size;
+    private final long[] timeMillis;
+    private final float[] temperature;
+    private final float[] minTemperature;
+    private final float[] maxTemperature;
+    private final float[] feelsLike;
+    private final byte[] humidity;
+    private final float[] windSpeed;
+    private final byte[] resolution;
+    private final int[] sampleCount;
+
+    ObservationSeries(int size, long[] timeMillis, float[] temperature, float[] minTemperature,
+                      float[] maxTemperature, float[] feelsLike, byte[] humidity, float[] windSpeed,
+                      byte[] resolution, int[] sampleCount) {
+        this.size = size;
+        this.timeMillis = timeMillis;
+        this.temperature = temperature;
+        this.minTemperature = minTemperature;
+        this.maxTemperature = maxTemperature;
+        this.feelsLike = feelsLike;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+        this.resolution = resolution;
+        this.sampleCount = sampleCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 원본 관측 시각, 압축된 점이면 그 구간의 시작 시각. */
+    public long timeMillis(int index) {
+        return timeMillis[check(index)];
+    }
+
+    public float temperature(int index) {
+        return temperature[check(index)];
+    }
+
+    public float minTemperature(int index) {
+        return minTemperature[check(index)];
+    }
+
+    public float maxTemperature(int index) {
+        return maxTemperature[check(index)];
+    }
+
+    public float feelsLike(int index) {
+        return feelsLike[check(index)];
+    }
+
+    public int humidity(int index) {
+        return humidity[check(index)];
+    }
+
+    public float windSpeed(int index) {
+        return windSpeed[check(index)];
+    }
+
+    /** ObservationLog.RESOLUTION_RAW / HOURLY / DAILY */
+    public int resolution(int index) {
+        return resolution[check(index)];
+    }
+
+    public int sampleCount(int index) {
+        return sampleCount[check(index)];
+    }
+
+    /** 표본 수로 가중한 평균 기온. 점이 없으면 NaN. */
+    public float meanTemperature() {
+        double sum = 0;
+        long samples = 0;
+        for (int i = 0; i < size; i++) {
+            sum += (double) temperature[i] * sampleCount[i];
+            samples += sampleCount[i];
+        }
+        return samples == 0 ? Float.NaN : (float) (sum / samples);
+    }
+
+    private int check(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return index;
+    }
+}
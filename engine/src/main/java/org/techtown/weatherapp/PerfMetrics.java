@@ -0,0 +1,153 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 새로고침 단계별 지연 히스토그램과 캐시 적중/실패 카운터.
+ * 숨겨진 디버그 화면(MetricsActivity)에서 보고 JSON 으로 내보낸다.
+ */
+public final class PerfMetrics {
+    public enum Stage {
+        LOCATION,
+        API_CALL,
+        DNS,
+        CONNECT,
+        TLS,
+        TTFB,
+        DECODE,
+        GEOCODE,
+        IMAGE_DECODE,
+        QUOTA_WAIT
+    }
+
+    public enum Counter {
+        WEATHER_CACHE_HIT,
+        WEATHER_CACHE_STALE_HIT,
+        WEATHER_CACHE_MISS,
+        GEOCODE_CACHE_HIT,
+        GEOCODE_CACHE_MISS,
+        FORWARD_GEOCODE_CACHE_HIT,
+        FORWARD_GEOCODE_CACHE_MISS,
+        CHARACTER_CACHE_HIT,
+        CHARACTER_CACHE_MISS,
+        ICON_BUNDLED,
+        ICON_REMOTE,
+        HEDGE_SENT,
+        HEDGE_WON,
+        RETRY,
+        CIRCUIT_REJECTED,
+        QUOTA_GRANTED_USER,
+        QUOTA_GRANTED_PREFETCH,
+        QUOTA_GRANTED_BACKGROUND,
+        QUOTA_QUEUED,
+        QUOTA_SHED
+    }
+
+    private static final PerfMetrics INSTANCE = new PerfMetrics();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+    private final AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+    private volatile long startedAt = System.currentTimeMillis();
+
+    PerfMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public static PerfMetrics get() {
+        return INSTANCE;
+    }
+
+    public void record(Stage stage, long nanos) {
+        histograms[stage.ordinal()].recordNanos(nanos);
+    }
+
+    public void increment(Counter counter) {
+        counters.incrementAndGet(counter.ordinal());
+    }
+
+    public LatencyHistogram histogram(Stage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    public long count(Counter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        startedAt = System.currentTimeMillis();
+    }
+
+    public String toJson() {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("startedAt").value(startedAt);
+            writer.name("exportedAt").value(System.currentTimeMillis());
+
+            writer.name("stages").beginObject();
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = histogram(stage);
+                writer.name(stage.name()).beginObject();
+                writer.name("count").value(histogram.count());
+                writer.name("meanMicros").value(histogram.meanMicros());
+                writer.name("p50Micros").value(histogram.percentileMicros(50));
+                writer.name("p95Micros").value(histogram.percentileMicros(95));
+                writer.name("p99Micros").value(histogram.percentileMicros(99));
+                writer.name("maxMicros").value(histogram.maxMicros());
+                writer.name("buckets").beginArray();
+                for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+                    writer.value(histogram.bucketCount(i));
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endObject();
+
+            writer.name("counters").beginObject();
+            for (Counter counter : Counter.values()) {
+                writer.name(counter.name()).value(count(counter));
+            }
+            writer.endObject();
+            writer.endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /** 디버그 화면에 보여줄 요약. */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histogram(stage);
+            builder.append(stage.name())
+                    .append("  n=").append(histogram.count())
+                    .append("  p50=").append(formatMillis(histogram.percentileMicros(50)))
+                    .append("  p95=").append(formatMillis(histogram.percentileMicros(95)))
+                    .append("  max=").append(formatMillis(histogram.maxMicros()))
+                    .append('\n');
+        }
+        builder.append('\n');
+        for (Counter counter : Counter.values()) {
+            builder.append(counter.name()).append("  ").append(count(counter)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String formatMillis(long micros) {
+        return (micros / 1000) + "." + (micros % 1000) / 100 + "ms";
+    }
+}
@@ -0,0 +1,154 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 문자열 접두사로 값을 찾는 트라이. 대소문자를 구분하지 않는다.
+ * 자식 노드는 정렬된 char 배열로 두어 조회할 때 객체를 만들지 않는다.
+ * 스레드 안전하지 않다.
+ */
+final class PrefixTrie<V> {
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    void put(String key, V value) {
+        String normalized = normalize(key);
+        Node<V> node = root;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.childOrCreate(normalized.charAt(i));
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    boolean remove(String key, V value) {
+        Node<V> node = find(normalize(key));
+        if (node == null || node.values == null || !node.values.remove(value)) {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    /** 단어가 시작하는 위치마다 넣어 "중구" 로도 "서울특별시 중구" 를 찾을 수 있게 한다. */
+    void putWords(String text, V value) {
+        for (int start : wordStarts(text)) {
+            put(text.substring(start), value);
+        }
+    }
+
+    void removeWords(String text, V value) {
+        for (int start : wordStarts(text)) {
+            remove(text.substring(start), value);
+        }
+    }
+
+    /** prefix 로 시작하는 키의 값들을 키 순서대로 최대 limit 개, 중복 없이 돌려준다. */
+    List<V> search(String prefix, int limit) {
+        Node<V> start = find(normalize(prefix));
+        if (start == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Set<V> found = new LinkedHashSet<>();
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty() && found.size() < limit) {
+            Node<V> node = stack.pop();
+            if (node.values != null) {
+                for (V value : node.values) {
+                    found.add(value);
+                    if (found.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            for (int i = node.childCount - 1; i >= 0; i--) {
+                stack.push(node.children[i]);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root.keys = Node.NO_KEYS;
+        root.children = null;
+        root.childCount = 0;
+        root.values = null;
+        size = 0;
+    }
+
+    private Node<V> find(String key) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] wordStarts(String text) {
+        int[] starts = new int[text.length()];
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            boolean boundary = i == 0 || Character.isWhitespace(text.charAt(i - 1));
+            if (boundary && !Character.isWhitespace(text.charAt(i))) {
+                starts[count++] = i;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static final class Node<V> {
+        static final char[] NO_KEYS = new char[0];
+
+        char[] keys = NO_KEYS;
+        Node<V>[] children;
+        int childCount;
+        List<V> values;
+
+        Node<V> child(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<V> childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = children == null ? (Node<V>[]) new Node<?>[capacity] : Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node<V> created = new Node<>();
+            keys[insertAt] = c;
+            children[insertAt] = created;
+            childCount++;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 앱의 모든 요청이 API 키 하나를 나눠 쓰므로 OpenWeather 의 분당/일일 한도를 클라이언트에서 먼저 지킨다.
+ * 분당, 일일 토큰 버킷 두 개를 두고 우선순위가 낮은 레인은 버킷에 자기 몫(reserve) 이상이 남아 있을 때만 토큰을 가져간다.
+ * 모자라면 레인별 대기열에서 기다리고, 대기열이 찼거나 일일 예산이 레인 몫 아래로 내려가면
+ * QuotaExceededException 으로 버린다. 사용자 요청(USER)은 버리지 않고 항상 먼저 처리한다.
+ * 일일 한도는 하루에 걸쳐 조금씩 다시 채워지는 버킷으로 근사한다.
+ */
+public class QuotaBudget {
+    // OpenWeather 무료 요금제 분당 한도
+    public static final int DEFAULT_PER_MINUTE = 60;
+    public static final int DEFAULT_PER_DAY = 10_000;
+
+    private static final long MINUTE_MILLIS = 60 * 1000L;
+    private static final long DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+
+    public enum Lane {
+        // 새로고침 버튼, 화면 진입 등 사용자가 기다리는 요청
+        USER(0, 0, Integer.MAX_VALUE, PerfMetrics.Counter.QUOTA_GRANTED_USER),
+        // 예보, 저장된 주소처럼 곧 보게 될 데이터
+        PREFETCH(0.2, 0.05, 16, PerfMetrics.Counter.QUOTA_GRANTED_PREFETCH),
+        // WorkManager 새로고침
+        BACKGROUND(0.4, 0.1, 32, PerfMetrics.Counter.QUOTA_GRANTED_BACKGROUND);
+
+        // 이 레인이 토큰을 가져간 뒤에도 버킷에 남아 있어야 하는 비율
+        final double minuteReserve;
+        final double dayReserve;
+        final int maxQueued;
+        final PerfMetrics.Counter grantedCounter;
+
+        Lane(double minuteReserve, double dayReserve, int maxQueued, PerfMetrics.Counter grantedCounter) {
+            this.minuteReserve = minuteReserve;
+            this.dayReserve = dayReserve;
+            this.maxQueued = maxQueued;
+            this.grantedCounter = grantedCounter;
+        }
+    }
+
+    /** 토큰을 받으면 onGranted, 버려지면 onRejected 가 한 번 호출된다 (잠금 밖, 임의의 스레드). */
+    public interface Permit {
+        void onGranted();
+
+        void onRejected(QuotaExceededException e);
+    }
+
+    private final TimeSource clock;
+    private final ScheduledExecutorService scheduler;
+    private final Bucket minute;
+    private final Bucket day;
+    private final List<Deque<Waiter>> queues = new ArrayList<>();
+    private final long[] granted = new long[Lane.values().length];
+    private final long[] shed = new long[Lane.values().length];
+    private ScheduledFuture<?> drainTimer;
+    private long drainAt = Long.MAX_VALUE;
+
+    public QuotaBudget(TimeSource clock, ScheduledExecutorService scheduler, int perMinute, int perDay) {
+        if (perMinute <= 0 || perDay <= 0) {
+            throw new IllegalArgumentException("limits must be positive");
+        }
+        this.clock = clock;
+        this.scheduler = scheduler;
+        long now = clock.currentTimeMillis();
+        this.minute = new Bucket(perMinute, MINUTE_MILLIS, now);
+        this.day = new Bucket(perDay, DAY_MILLIS, now);
+        for (int i = 0; i < Lane.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /** 토큰을 요청한다. 돌려받은 Handle 로 대기 중인 요청을 취소할 수 있다 (취소하면 콜백은 오지 않는다). */
+    public WeatherRequestCoordinator.Handle acquire(Lane lane, Permit permit) {
+        Waiter waiter = new Waiter(lane, permit, System.nanoTime());
+        String rejection = null;
+        boolean grantNow = false;
+        synchronized (this) {
+            refill();
+            if (!hasWaitersAtOrAbove(lane) && tryTake(lane)) {
+                granted[lane.ordinal()]++;
+                grantNow = true;
+            } else if (lane != Lane.USER && !hasDayHeadroom(lane)) {
+                rejection = "daily API budget reserved for higher priority requests";
+            } else if (queues.get(lane.ordinal()).size() >= lane.maxQueued) {
+                rejection = lane + " queue is full";
+            } else {
+                queues.get(lane.ordinal()).add(waiter);
+                scheduleDrain();
+            }
+            if (rejection != null) {
+                shed[lane.ordinal()]++;
+            }
+        }
+
+        if (grantNow) {
+            PerfMetrics.get().increment(lane.grantedCounter);
+            permit.onGranted();
+        } else if (rejection != null) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.QUOTA_SHED);
+            permit.onRejected(new QuotaExceededException(rejection));
+        } else {
+            PerfMetrics.get().increment(PerfMetrics.Counter.QUOTA_QUEUED);
+        }
+        return () -> {
+            synchronized (QuotaBudget.this) {
+                queues.get(lane.ordinal()).remove(waiter);
+            }
+        };
+    }
+
+    /** 이 레인이 지금 기다리지 않고 토큰을 받을 수 있는지. hedge 처럼 생략해도 되는 요청을 거를 때 쓴다. */
+    public synchronized boolean hasHeadroom(Lane lane) {
+        refill();
+        return !hasWaitersAtOrAbove(lane) && canTake(lane);
+    }
+
+    public synchronized int queuedCount(Lane lane) {
+        return queues.get(lane.ordinal()).size();
+    }
+
+    /** 디버그 화면용 요약. */
+    public synchronized String describe() {
+        refill();
+        StringBuilder builder = new StringBuilder(String.format(Locale.US,
+                "QUOTA  minute=%.1f/%d  day=%.0f/%d%n",
+                minute.tokens, minute.capacity, day.tokens, day.capacity));
+        for (Lane lane : Lane.values()) {
+            builder.append("  ").append(lane.name())
+                    .append("  granted=").append(granted[lane.ordinal()])
+                    .append("  queued=").append(queues.get(lane.ordinal()).size())
+                    .append("  shed=").append(shed[lane.ordinal()])
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+
+    /** 대기열에서 토큰을 받을 수 있게 된 요청을 우선순위 순서로 내보낸다. 보통 타이머가 호출한다. */
+    void drain() {
+        List<Waiter> grants = new ArrayList<>();
+        List<Waiter> rejects = new ArrayList<>();
+        synchronized (this) {
+            drainAt = Long.MAX_VALUE;
+            drainTimer = null;
+            refill();
+            // 일일 예산이 몫 아래로 내려간 낮은 레인은 기다려도 소용이 없으므로 버린다
+            for (Lane lane : Lane.values()) {
+                if (lane != Lane.USER && !hasDayHeadroom(lane)) {
+                    Deque<Waiter> queue = queues.get(lane.ordinal());
+                    shed[lane.ordinal()] += queue.size();
+                    rejects.addAll(queue);
+                    queue.clear();
+                }
+            }
+            outer:
+            for (Lane lane : Lane.values()) {
+                Deque<Waiter> queue = queues.get(lane.ordinal());
+                while (!queue.isEmpty()) {
+                    // 윗 레인이 못 받으면 몫이 더 큰 아랫 레인도 받을 수 없다
+                    if (!tryTake(lane)) {
+                        break outer;
+                    }
+                    granted[lane.ordinal()]++;
+                    grants.add(queue.poll());
+                }
+            }
+            scheduleDrain();
+        }
+
+        long now = System.nanoTime();
+        for (Waiter waiter : grants) {
+            PerfMetrics.get().record(PerfMetrics.Stage.QUOTA_WAIT, now - waiter.queuedAtNanos);
+            PerfMetrics.get().increment(waiter.lane.grantedCounter);
+            waiter.permit.onGranted();
+        }
+        for (Waiter waiter : rejects) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.QUOTA_SHED);
+            waiter.permit.onRejected(new QuotaExceededException("daily API budget exhausted"));
+        }
+    }
+
+    // 잠금 안에서 호출. 가장 높은 대기 레인이 토큰을 받을 수 있을 때쯤 drain() 을 건다
+    private void scheduleDrain() {
+        Lane head = null;
+        for (Lane lane : Lane.values()) {
+            if (!queues.get(lane.ordinal()).isEmpty()) {
+                head = lane;
+                break;
+            }
+        }
+        if (head == null) {
+            return;
+        }
+
+        long now = clock.currentTimeMillis();
+        long wait = Math.max(minute.millisUntil(head.minuteReserve * minute.capacity + 1),
+                day.millisUntil(head.dayReserve * day.capacity + 1));
+        long at = now + Math.max(1, wait);
+        if (drainTimer != null && drainAt <= at) {
+            return;
+        }
+        if (drainTimer != null) {
+            drainTimer.cancel(false);
+        }
+        drainAt = at;
+        drainTimer = scheduler.schedule(this::drain, at - now, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean hasWaitersAtOrAbove(Lane lane) {
+        for (int i = 0; i <= lane.ordinal(); i++) {
+            if (!queues.get(i).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canTake(Lane lane) {
+        return minute.tokens - 1 >= lane.minuteReserve * minute.capacity
+                && day.tokens - 1 >= lane.dayReserve * day.capacity;
+    }
+
+    private boolean tryTake(Lane lane) {
+        if (!canTake(lane)) {
+            return false;
+        }
+        minute.tokens -= 1;
+        day.tokens -= 1;
+        return true;
+    }
+
+    private boolean hasDayHeadroom(Lane lane) {
+        return day.tokens - 1 >= lane.dayReserve * day.capacity;
+    }
+
+    private void refill() {
+        long now = clock.currentTimeMillis();
+        minute.refill(now);
+        day.refill(now);
+    }
+
+    private static final class Bucket {
+        final int capacity;
+        final double tokensPerMilli;
+        double tokens;
+        long refilledAt;
+
+        Bucket(int capacity, long periodMillis, long now) {
+            this.capacity = capacity;
+            this.tokensPerMilli = (double) capacity / periodMillis;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerMilli);
+                refilledAt = now;
+            }
+        }
+
+        long millisUntil(double level) {
+            if (tokens >= level) {
+                return 0;
+            }
+            return (long) Math.ceil((level - tokens) / tokensPerMilli);
+        }
+    }
+
+    private static final class Waiter {
+        final Lane lane;
+        final Permit permit;
+        final long queuedAtNanos;
+
+        Waiter(Lane lane, Permit permit, long queuedAtNanos) {
+            this.lane = lane;
+            this.permit = permit;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+
+/** API 호출 예산이 모자라 요청을 보내지 않고 버렸음을 알린다. */
+public class QuotaExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package org.techtown.weatherapp;
+
+/**
+ * GPS 모드 새로고침 게이트.
+ * 마지막으로 네트워크에서 받아온 위치에서 minDistanceMeters 이상 움직이지 않았고
+ * 데이터가 maxAgeMillis 보다 새로우면 위치/날씨 API 호출을 건너뛴다.
+ */
+class RefreshPolicy {
+    static final double DEFAULT_MIN_DISTANCE_METERS = 500;
+    static final long DEFAULT_MAX_AGE_MILLIS = 10 * 60 * 1000L;
+
+    private final TimeSource clock;
+    private final double minDistanceMeters;
+    private final long maxAgeMillis;
+    private boolean hasLastFetch = false;
+    private double lastLatitude;
+    private double lastLongitude;
+    private long lastFetchedAt;
+
+    RefreshPolicy(TimeSource clock) {
+        this(clock, DEFAULT_MIN_DISTANCE_METERS, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    RefreshPolicy(TimeSource clock, double minDistanceMeters, long maxAgeMillis) {
+        this.clock = clock;
+        this.minDistanceMeters = minDistanceMeters;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    boolean shouldFetch(double latitude, double longitude, boolean force) {
+        if (force || !hasLastFetch) {
+            return true;
+        }
+        if (clock.currentTimeMillis() - lastFetchedAt >= maxAgeMillis) {
+            return true;
+        }
+        return GeoMath.haversineMeters(lastLatitude, lastLongitude, latitude, longitude) >= minDistanceMeters;
+    }
+
+    void recordFetch(double latitude, double longitude) {
+        hasLastFetch = true;
+        lastLatitude = latitude;
+        lastLongitude = longitude;
+        lastFetchedAt = clock.currentTimeMillis();
+    }
+
+    // 화면이 GPS 위치가 아닌 다른 데이터를 보여주게 되면 호출
+    void reset() {
+        hasLastFetch = false;
+    }
+}
@@ -0,0 +1,64 @@
+package org.techtown.weatherapp;
+
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * ResilientCall 의 hedge 지연, 재시도 횟수, 백오프 설정.
+ */
+final class ResiliencePolicy {
+    static final long DEFAULT_HEDGE_DELAY_MILLIS = 1500;
+    static final long MIN_HEDGE_DELAY_MILLIS = 200;
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+    static final long DEFAULT_BASE_BACKOFF_MILLIS = 300;
+    static final long DEFAULT_MAX_BACKOFF_MILLIS = 5000;
+    // 관측된 p95 를 믿기 위한 최소 표본 수
+    static final int MIN_SAMPLES_FOR_P95 = 20;
+
+    // 0 보다 작으면 hedge 요청을 보내지 않는다
+    final LongSupplier hedgeDelayMillis;
+    final int maxAttempts;
+    final long baseBackoffMillis;
+    final long maxBackoffMillis;
+    private final Random random;
+
+    ResiliencePolicy(LongSupplier hedgeDelayMillis, int maxAttempts, long baseBackoffMillis,
+                     long maxBackoffMillis, Random random) {
+        this.hedgeDelayMillis = hedgeDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.random = random;
+    }
+
+    /** 지금까지 관측된 API 호출 p95 를 hedge 지연으로 쓴다. 표본이 적으면 기본값. */
+    static ResiliencePolicy observedP95(LatencyHistogram apiLatency) {
+        LongSupplier hedgeDelay = () -> {
+            if (apiLatency.count() < MIN_SAMPLES_FOR_P95) {
+                return DEFAULT_HEDGE_DELAY_MILLIS;
+            }
+            return Math.max(MIN_HEDGE_DELAY_MILLIS, apiLatency.percentileMicros(95) / 1000);
+        };
+        return new ResiliencePolicy(hedgeDelay, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF_MILLIS,
+                DEFAULT_MAX_BACKOFF_MILLIS, new Random());
+    }
+
+    /** condition 이 거짓이면 hedge 를 보내지 않는 사본. */
+    ResiliencePolicy hedgeOnlyWhen(BooleanSupplier condition) {
+        LongSupplier delay = hedgeDelayMillis;
+        return new ResiliencePolicy(() -> condition.getAsBoolean() ? delay.getAsLong() : -1,
+                maxAttempts, baseBackoffMillis, maxBackoffMillis, random);
+    }
+
+    // full jitter: [0, min(max, base * 2^(retry-1))) 사이에서 무작위로 기다린다
+    long backoffMillis(int retry) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(retry - 1, 20));
+        if (ceiling <= 0) {
+            return 0;
+        }
+        synchronized (random) {
+            return (long) (random.nextDouble() * ceiling);
+        }
+    }
+}
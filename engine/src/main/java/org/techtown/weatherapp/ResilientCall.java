@@ -0,0 +1,314 @@
+package org.techtown.weatherapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * 멱등 GET 호출을 감싸 느린 응답에는 hedge 요청을, 실패에는 지터 백오프 재시도를 붙인다.
+ * 매 시도 전에 회로 차단기를 확인하고, 열려 있으면 네트워크 없이 CircuitOpenException 으로 끝낸다.
+ * 호출 예산이 모자라 버려진 요청(QuotaExceededException)은 차단기에 실패로 세지 않고 재시도하지도 않는다.
+ * hedge 를 붙여도 차단기에는 회차당 실패 한 번만 센다.
+ * 먼저 성공한 응답 하나만 전달하고 나머지 진행 중인 호출은 취소한다.
+ */
+final class ResilientCall<T> implements Call<T> {
+    private final Call<T> template;
+    private final ScheduledExecutorService scheduler;
+    private final CircuitBreaker breaker;
+    private final ResiliencePolicy policy;
+
+    private final List<Call<T>> live = new ArrayList<>();
+    private Callback<T> callback;
+    private boolean executed;
+    private volatile boolean canceled;
+    private boolean finished;
+    private int attempt;
+    private ScheduledFuture<?> timer;
+    private Response<T> lastResponse;
+    private Throwable lastError;
+    // 이번 회차가 반쯤 열린 차단기의 시험 요청 자리를 쥐고 있는지
+    private boolean holdsProbe;
+    // 이번 회차에 실제 실패(버려진 요청 제외)가 있었는지
+    private boolean roundFailed;
+
+    ResilientCall(Call<T> template, ScheduledExecutorService scheduler, CircuitBreaker breaker,
+                  ResiliencePolicy policy) {
+        this.template = template;
+        this.scheduler = scheduler;
+        this.breaker = breaker;
+        this.policy = policy;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        synchronized (this) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+            this.callback = callback;
+            attempt = 1;
+        }
+        startAttempt(1);
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        CountDownLatch done = new CountDownLatch(1);
+        Object[] outcome = new Object[1];
+        enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                outcome[0] = response;
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                outcome[0] = t;
+                done.countDown();
+            }
+        });
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+
+        if (outcome[0] instanceof IOException) {
+            throw (IOException) outcome[0];
+        } else if (outcome[0] instanceof Throwable) {
+            throw new IOException((Throwable) outcome[0]);
+        }
+        @SuppressWarnings("unchecked")
+        Response<T> response = (Response<T>) outcome[0];
+        return response;
+    }
+
+    private void startAttempt(int round) {
+        if (!breaker.allowRequest()) {
+            PerfMetrics.get().increment(PerfMetrics.Counter.CIRCUIT_REJECTED);
+            // 재시도 중에 차단됐으면 마지막 실제 결과를 그대로 돌려준다
+            finish(round, lastResponse, lastResponse == null && lastError == null
+                    ? new CircuitOpenException() : lastError);
+            return;
+        }
+        boolean probe = breaker.getState() == CircuitBreaker.State.HALF_OPEN;
+        boolean release;
+        synchronized (this) {
+            release = canceled && probe;
+            holdsProbe = probe && !canceled;
+            roundFailed = false;
+        }
+        if (release) {
+            // 시작하기 전에 취소됐다
+            breaker.releaseProbe();
+            return;
+        }
+
+        launch(round, false);
+
+        long hedgeDelay = policy.hedgeDelayMillis.getAsLong();
+        if (hedgeDelay >= 0 && breaker.getState() == CircuitBreaker.State.CLOSED) {
+            synchronized (this) {
+                if (!finished && !canceled) {
+                    timer = scheduler.schedule(() -> hedge(round), hedgeDelay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    private void hedge(int round) {
+        synchronized (this) {
+            if (finished || canceled || round != attempt) {
+                return;
+            }
+        }
+        PerfMetrics.get().increment(PerfMetrics.Counter.HEDGE_SENT);
+        launch(round, true);
+    }
+
+    private void launch(int round, boolean hedged) {
+        Call<T> call = template.clone();
+        synchronized (this) {
+            if (finished || canceled || round != attempt) {
+                return;
+            }
+            live.add(call);
+        }
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> response) {
+                if (response.isSuccessful() || !isRetryable(response.code())) {
+                    // 4xx 도 서버가 정상적으로 답한 것이다
+                    synchronized (ResilientCall.this) {
+                        holdsProbe = false;
+                    }
+                    breaker.recordSuccess();
+                    if (hedged && response.isSuccessful()) {
+                        PerfMetrics.get().increment(PerfMetrics.Counter.HEDGE_WON);
+                    }
+                    finish(round, response, null);
+                } else {
+                    attemptFailed(round, call, response, null);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                attemptFailed(round, call, null, t);
+            }
+        });
+    }
+
+    private void attemptFailed(int round, Call<T> call, Response<T> response, Throwable error) {
+        int nextRound;
+        Response<T> finalResponse = response;
+        Throwable finalError = error;
+        synchronized (this) {
+            if (finished || canceled || round != attempt) {
+                return;
+            }
+            live.remove(call);
+            // 예산 부족으로 보내지도 않은 요청은 서버 상태와 무관하고, 다시 시도해도 예산만 쓴다
+            boolean shed = error instanceof QuotaExceededException;
+            if (!shed) {
+                lastResponse = response;
+                lastError = error;
+                roundFailed = true;
+            }
+            if (!live.isEmpty()) {
+                // 같은 회차의 다른 요청(hedge)이 아직 진행 중
+                return;
+            }
+            // 원래 요청과 hedge 가 모두 실패해도 차단기에는 한 번만 센다
+            if (roundFailed) {
+                breaker.recordFailure();
+            } else if (holdsProbe) {
+                breaker.releaseProbe();
+            }
+            holdsProbe = false;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (shed || attempt >= policy.maxAttempts) {
+                nextRound = -1;
+                if (shed && (lastResponse != null || lastError != null)) {
+                    // 실제 서버 응답이 있었다면 그쪽이 더 의미 있다
+                    finalResponse = lastResponse;
+                    finalError = lastError;
+                }
+            } else {
+                nextRound = ++attempt;
+                PerfMetrics.get().increment(PerfMetrics.Counter.RETRY);
+                timer = scheduler.schedule(() -> startAttempt(nextRound),
+                        policy.backoffMillis(nextRound - 1), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (nextRound < 0) {
+            finish(round, finalResponse, finalError);
+        }
+    }
+
+    private void finish(int round, Response<T> response, Throwable error) {
+        List<Call<T>> losers;
+        Callback<T> target;
+        synchronized (this) {
+            if (finished || canceled || round != attempt) {
+                return;
+            }
+            finished = true;
+            losers = new ArrayList<>(live);
+            live.clear();
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            target = callback;
+        }
+        for (Call<T> loser : losers) {
+            loser.cancel();
+        }
+
+        if (response != null) {
+            target.onResponse(this, response);
+        } else {
+            target.onFailure(this, error);
+        }
+    }
+
+    static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    @Override
+    public boolean isExecuted() {
+        synchronized (this) {
+            return executed;
+        }
+    }
+
+    @Override
+    public void cancel() {
+        List<Call<T>> calls;
+        Callback<T> target;
+        boolean releaseProbe;
+        synchronized (this) {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+            calls = new ArrayList<>(live);
+            live.clear();
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            target = finished ? null : callback;
+            releaseProbe = holdsProbe && !finished;
+            holdsProbe = false;
+        }
+        // 취소된 시험 요청은 결과를 남기지 않으므로 자리를 돌려주지 않으면 차단기가 반쯤 열린 채로 멈춘다
+        if (releaseProbe) {
+            breaker.releaseProbe();
+        }
+        for (Call<T> call : calls) {
+            call.cancel();
+        }
+        if (target != null) {
+            target.onFailure(this, new IOException("Canceled"));
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new ResilientCall<>(template.clone(), scheduler, breaker, policy);
+    }
+
+    @Override
+    public Request request() {
+        return template.request();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return template.timeout();
+    }
+}
@@ -0,0 +1,49 @@
+package org.techtown.weatherapp;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import retrofit2.Call;
+
+/**
+ * WeatherService 의 모든 호출을 ResilientCall 로 감싼다.
+ */
+public class ResilientWeatherService implements WeatherService {
+    private final WeatherService delegate;
+    private final ScheduledExecutorService scheduler;
+    private final CircuitBreaker breaker;
+    private final ResiliencePolicy policy;
+
+    ResilientWeatherService(WeatherService delegate, ScheduledExecutorService scheduler,
+                            CircuitBreaker breaker, ResiliencePolicy policy) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.breaker = breaker;
+        this.policy = policy;
+    }
+
+    @Override
+    public Call<WeatherResponse> getWeather(double latitude, double longitude, String apiKey,
+                                            String units, String lang) {
+        return wrap(delegate.getWeather(latitude, longitude, apiKey, units, lang));
+    }
+
+    @Override
+    public Call<WeatherGroupResponse> getWeatherGroup(String cityIds, String apiKey,
+                                                      String units, String lang) {
+        return wrap(delegate.getWeatherGroup(cityIds, apiKey, units, lang));
+    }
+
+    @Override
+    public Call<ForecastSeries> getForecast(double latitude, double longitude, String apiKey,
+                                            String units, String lang) {
+        return wrap(delegate.getForecast(latitude, longitude, apiKey, units, lang));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+
+    private <T> Call<T> wrap(Call<T> call) {
+        return new ResilientCall<>(call, scheduler, breaker, policy);
+    }
+}
@@ -0,0 +1,17 @@
+package org.techtown.weatherapp;
+
+class SavedLocation {
+    final String id;
+    final String label;
+    final double latitude;
+    final double longitude;
+    final long savedAt;
+
+    SavedLocation(String id, String label, double latitude, double longitude, long savedAt) {
+        this.id = id;
+        this.label = label;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.savedAt = savedAt;
+    }
+}
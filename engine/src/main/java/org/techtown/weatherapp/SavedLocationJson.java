@@ -0,0 +1,54 @@
+package org.techtown.weatherapp;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 예전 weather_prefs 의 saved_locations 키에 저장하던 JSON 배열 형식.
+ * 지금은 SavedLocationStore 로 옮길 때만 읽는다.
+ */
+final class SavedLocationJson {
+    private SavedLocationJson() {
+    }
+
+    static String serialize(List<SavedLocation> locations) {
+        JSONArray array = new JSONArray();
+
+        for (SavedLocation location : locations) {
+            JSONObject object = new JSONObject();
+            try {
+                object.put("id", location.id);
+                object.put("label", location.label);
+                object.put("latitude", location.latitude);
+                object.put("longitude", location.longitude);
+                object.put("savedAt", location.savedAt);
+                array.put(object);
+            } catch (JSONException ignored) {
+            }
+        }
+        return array.toString();
+    }
+
+    static List<SavedLocation> parse(String raw) throws JSONException {
+        List<SavedLocation> locations = new ArrayList<>();
+        JSONArray array = new JSONArray(raw);
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject object = array.getJSONObject(i);
+            locations.add(new SavedLocation(
+                    object.optString("id", UUID.randomUUID().toString()),
+                    object.optString("label", "저장된 위치"),
+                    object.optDouble("latitude", 0),
+                    object.optDouble("longitude", 0),
+                    object.optLong("savedAt", System.currentTimeMillis())
+            ));
+        }
+        Collections.sort(locations, (a, b) -> Long.compare(b.savedAt, a.savedAt));
+        return locations;
+    }
+}
@@ -0,0 +1,233 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 좌표 → 값 공간 색인 (k-d 트리).
+ * 위경도를 단위 구 위의 3차원 점으로 바꿔 저장하므로 날짜변경선/극 근처에서도 거리가 맞다.
+ * 최근접/반경 조회는 균형 트리에서 O(log n) 이며, 추가/삭제로 균형이 무너지면 다시 만든다.
+ * 스레드 안전하지 않다.
+ */
+final class SpatialIndex<V> {
+    static final class Match<V> {
+        final V value;
+        final double distanceMeters;
+
+        Match(V value, double distanceMeters) {
+            this.value = value;
+            this.distanceMeters = distanceMeters;
+        }
+    }
+
+    private final Map<V, Node<V>> nodes = new HashMap<>();
+    private Node<V> root;
+    private int deletedCount;
+    private int maxDepth;
+
+    int size() {
+        return nodes.size();
+    }
+
+    void add(double latitude, double longitude, V value) {
+        remove(value);
+        Node<V> node = new Node<>(latitude, longitude, value);
+        nodes.put(value, node);
+
+        if (root == null) {
+            root = node;
+            maxDepth = 1;
+            return;
+        }
+
+        Node<V> parent = root;
+        int depth = 1;
+        while (true) {
+            depth++;
+            boolean goLeft = node.coordinate(parent.axis) < parent.coordinate(parent.axis);
+            Node<V> next = goLeft ? parent.left : parent.right;
+            if (next == null) {
+                node.axis = (parent.axis + 1) % 3;
+                if (goLeft) {
+                    parent.left = node;
+                } else {
+                    parent.right = node;
+                }
+                break;
+            }
+            parent = next;
+        }
+        maxDepth = Math.max(maxDepth, depth);
+
+        // 깊이가 균형 트리의 몇 배를 넘으면 다시 만든다
+        if (maxDepth > 2 * (32 - Integer.numberOfLeadingZeros(nodes.size())) + 4) {
+            rebuild();
+        }
+    }
+
+    boolean remove(V value) {
+        Node<V> node = nodes.remove(value);
+        if (node == null) {
+            return false;
+        }
+        node.deleted = true;
+        deletedCount++;
+        if (deletedCount > nodes.size()) {
+            rebuild();
+        }
+        return true;
+    }
+
+    void clear() {
+        nodes.clear();
+        root = null;
+        deletedCount = 0;
+        maxDepth = 0;
+    }
+
+    /** maxMeters 안에서 가장 가까운 값. 없으면 null. */
+    Match<V> nearest(double latitude, double longitude, double maxMeters) {
+        Node<V> query = new Node<>(latitude, longitude, null);
+        Search<V> search = new Search<>(chordSquared(maxMeters));
+        nearest(root, query, search);
+        if (search.best == null) {
+            return null;
+        }
+        return new Match<>(search.best.value, GeoMath.haversineMeters(
+                latitude, longitude, search.best.latitude, search.best.longitude));
+    }
+
+    /** radiusMeters 안의 값들, 가까운 순. */
+    List<Match<V>> withinRadius(double latitude, double longitude, double radiusMeters) {
+        Node<V> query = new Node<>(latitude, longitude, null);
+        List<Node<V>> found = new ArrayList<>();
+        withinRadius(root, query, chordSquared(radiusMeters), found);
+
+        List<Match<V>> matches = new ArrayList<>(found.size());
+        for (Node<V> node : found) {
+            matches.add(new Match<>(node.value, GeoMath.haversineMeters(
+                    latitude, longitude, node.latitude, node.longitude)));
+        }
+        matches.sort(Comparator.comparingDouble(match -> match.distanceMeters));
+        return matches;
+    }
+
+    private void nearest(Node<V> node, Node<V> query, Search<V> search) {
+        if (node == null) {
+            return;
+        }
+
+        double diff = query.coordinate(node.axis) - node.coordinate(node.axis);
+        Node<V> near = diff < 0 ? node.left : node.right;
+        Node<V> far = diff < 0 ? node.right : node.left;
+
+        if (!node.deleted) {
+            double distance = node.distanceSquared(query);
+            if (distance <= search.bestDistance) {
+                search.bestDistance = distance;
+                search.best = node;
+            }
+        }
+        nearest(near, query, search);
+        if (diff * diff <= search.bestDistance) {
+            nearest(far, query, search);
+        }
+    }
+
+    private void withinRadius(Node<V> node, Node<V> query, double limit, List<Node<V>> found) {
+        if (node == null) {
+            return;
+        }
+
+        if (!node.deleted && node.distanceSquared(query) <= limit) {
+            found.add(node);
+        }
+        double diff = query.coordinate(node.axis) - node.coordinate(node.axis);
+        if (diff < 0 || diff * diff <= limit) {
+            withinRadius(node.left, query, limit, found);
+        }
+        if (diff >= 0 || diff * diff <= limit) {
+            withinRadius(node.right, query, limit, found);
+        }
+    }
+
+    private void rebuild() {
+        List<Node<V>> live = new ArrayList<>(nodes.values());
+        for (Node<V> node : live) {
+            node.left = null;
+            node.right = null;
+        }
+        deletedCount = 0;
+        maxDepth = 0;
+        root = build(live, 0, live.size(), 0, 1);
+    }
+
+    private Node<V> build(List<Node<V>> list, int from, int to, int axis, int depth) {
+        if (from >= to) {
+            return null;
+        }
+
+        list.subList(from, to).sort(Comparator.comparingDouble(node -> node.coordinate(axis)));
+        int middle = (from + to) >>> 1;
+        Node<V> node = list.get(middle);
+        node.axis = axis;
+        maxDepth = Math.max(maxDepth, depth);
+        node.left = build(list, from, middle, (axis + 1) % 3, depth + 1);
+        node.right = build(list, middle + 1, to, (axis + 1) % 3, depth + 1);
+        return node;
+    }
+
+    // 지표 거리(미터)를 단위 구 위의 현(chord) 길이 제곱으로 바꾼다
+    private static double chordSquared(double meters) {
+        double angle = Math.min(Math.PI, meters / GeoMath.EARTH_RADIUS_METERS);
+        double chord = 2 * Math.sin(angle / 2);
+        return chord * chord;
+    }
+
+    private static final class Search<V> {
+        Node<V> best;
+        double bestDistance;
+
+        Search(double limit) {
+            this.bestDistance = limit;
+        }
+    }
+
+    private static final class Node<V> {
+        final double latitude;
+        final double longitude;
+        final double x;
+        final double y;
+        final double z;
+        final V value;
+        int axis;
+        boolean deleted;
+        Node<V> left;
+        Node<V> right;
+
+        Node(double latitude, double longitude, V value) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+            double lat = Math.toRadians(latitude);
+            double lon = Math.toRadians(longitude);
+            this.x = Math.cos(lat) * Math.cos(lon);
+            this.y = Math.cos(lat) * Math.sin(lon);
+            this.z = Math.sin(lat);
+        }
+
+        double coordinate(int axis) {
+            return axis == 0 ? x : axis == 1 ? y : z;
+        }
+
+        double distanceSquared(Node<V> other) {
+            double dx = x - other.x;
+            double dy = y - other.y;
+            double dz = z - other.z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.techtown.weatherapp;
+
+/**
+ * 기온 구간. 구간마다 캐릭터 그림(degree*.png)과 옷추천 문구가 정해진다.
+ */
+enum TemperatureBand {
+    DEGREE_0(0, "옷추천: 패딩, 두꺼운코트, 목도리, 기모제품"),
+    DEGREE_4(4, "옷추천: 패딩, 두꺼운코트, 목도리, 기모제품"),
+    DEGREE_5(8, "옷추천: 코트, 가죽자켓, 히트텍, 니트, 레깅스"),
+    DEGREE_9(11, "옷추천: 자켓, 트렌치코트, 야상, 니트, 청바지, 스타킹"),
+    DEGREE_12(16, "옷추천: 자켓, 가디건, 야상, 스타킹, 청바지, 면바지"),
+    DEGREE_17(19, "옷추천: 얇은 니트, 맨투맨, 가디건, 청바지"),
+    DEGREE_20(22, "옷추천: 얇은 가디건, 긴팔, 면바지, 청바지"),
+    DEGREE_23(27, "옷추천: 반팔, 얇은 셔츠, 반바지, 면바지"),
+    DEGREE_28(Integer.MAX_VALUE, "옷추천: 민소매, 반팔, 반바지, 원피스");
+
+    private static final TemperatureBand[] BANDS = values();
+
+    // 이 구간에 속하는 최고 기온 (포함)
+    final int maxTemperature;
+    final String clothesRecommendation;
+
+    TemperatureBand(int maxTemperature, String clothesRecommendation) {
+        this.maxTemperature = maxTemperature;
+        this.clothesRecommendation = clothesRecommendation;
+    }
+
+    static TemperatureBand forTemperature(int temperature) {
+        for (TemperatureBand band : BANDS) {
+            if (temperature <= band.maxTemperature) {
+                return band;
+            }
+        }
+        return DEGREE_28;
+    }
+}
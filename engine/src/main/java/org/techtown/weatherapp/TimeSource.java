@@ -0,0 +1,7 @@
+package org.techtown.weatherapp;
+
+public interface TimeSource {
+    TimeSource SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
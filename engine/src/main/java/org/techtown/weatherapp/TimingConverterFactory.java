@@ -0,0 +1,44 @@
+package org.techtown.weatherapp;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * 응답 본문 디코딩 시간을 PerfMetrics.Stage.DECODE 로 기록하도록 다른 Converter.Factory 를 감싼다.
+ */
+final class TimingConverterFactory extends Converter.Factory {
+    private final Converter.Factory delegate;
+
+    TimingConverterFactory(Converter.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        return body -> {
+            long start = System.nanoTime();
+            try {
+                return converter.convert(body);
+            } finally {
+                PerfMetrics.get().record(PerfMetrics.Stage.DECODE, System.nanoTime() - start);
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                                  Annotation[] methodAnnotations,
+                                                                  Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
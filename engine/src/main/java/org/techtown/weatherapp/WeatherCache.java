@@ -0,0 +1,180 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 좌표 격자 단위로 날씨 응답을 보관하는 메모리 + 디스크 캐시.
+ * 가까운 GPS 좌표는 같은 격자 칸으로 반올림되어 같은 항목을 공유한다.
+ * 메모리(LRU)와 디스크는 따로 상한을 두어, 디스크 파일을 지워도 메모리 항목은 남는다.
+ */
+public class WeatherCache {
+    public static final double DEFAULT_GRID_DEGREES = 0.005;
+    static final int MAX_MEMORY_ENTRIES = 512;
+    static final int MAX_DISK_ENTRIES = 128;
+    // 상한을 이만큼 넘었을 때만 디렉터리를 훑어 MAX_DISK_ENTRIES 로 줄인다
+    static final int DISK_PRUNE_SLACK = 32;
+    static final String FILE_SUFFIX = ".json";
+
+    private final File directory;
+    private final double gridDegrees;
+    private final Gson gson = WeatherJson.GSON;
+    private final Map<String, Entry> memory = Collections.synchronizedMap(
+            new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, WeatherCache.Entry> eldest) {
+                    return size() > MAX_MEMORY_ENTRIES;
+                }
+            });
+    // 디스크의 캐시 파일 수. 처음 필요할 때 한 번만 센다 (-1 은 아직 안 셈)
+    private int diskEntries = -1;
+
+    public WeatherCache(File directory) {
+        this(directory, DEFAULT_GRID_DEGREES);
+    }
+
+    public WeatherCache(File directory, double gridDegrees) {
+        if (gridDegrees <= 0) {
+            throw new IllegalArgumentException("gridDegrees must be positive");
+        }
+        this.directory = directory;
+        this.gridDegrees = gridDegrees;
+    }
+
+    public static String keyFor(double latitude, double longitude, double gridDegrees) {
+        return Math.round(latitude / gridDegrees) + "_" + Math.round(longitude / gridDegrees);
+    }
+
+    public String keyFor(double latitude, double longitude) {
+        return keyFor(latitude, longitude, gridDegrees);
+    }
+
+    public double getGridDegrees() {
+        return gridDegrees;
+    }
+
+    public Entry get(String key) {
+        Entry entry = memory.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            entry = gson.fromJson(reader, Entry.class);
+        } catch (IOException | JsonParseException e) {
+            file.delete();
+            return null;
+        }
+
+        if (entry == null || entry.response == null) {
+            return null;
+        }
+        memory.put(key, entry);
+        return entry;
+    }
+
+    public void put(String key, WeatherResponse response, long fetchedAt) {
+        Entry current = memory.get(key);
+        if (current != null && current.response == response) {
+            // 합쳐진 요청의 같은 응답이 여러 번 저장되지 않도록
+            return;
+        }
+
+        Entry entry = new Entry(response, fetchedAt);
+        memory.put(key, entry);
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+
+        File target = fileFor(key);
+        boolean added = !target.exists();
+        File temp = new File(directory, key + FILE_SUFFIX + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(entry, writer);
+        } catch (IOException e) {
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            return;
+        }
+        if (added && countDiskEntry()) {
+            pruneDisk();
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, key + FILE_SUFFIX);
+    }
+
+    // 새 파일이 생겼음을 기록하고, 정리할 때가 되었으면 true
+    private synchronized boolean countDiskEntry() {
+        if (diskEntries < 0) {
+            File[] files = listCacheFiles();
+            diskEntries = files != null ? files.length : 0;
+        } else {
+            diskEntries++;
+        }
+        return diskEntries > MAX_DISK_ENTRIES + DISK_PRUNE_SLACK;
+    }
+
+    private synchronized void pruneDisk() {
+        File[] files = listCacheFiles();
+        if (files == null) {
+            return;
+        }
+        diskEntries = files.length;
+        if (files.length <= MAX_DISK_ENTRIES) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i < files.length - MAX_DISK_ENTRIES; i++) {
+            if (files[i].delete()) {
+                diskEntries--;
+            }
+        }
+    }
+
+    private File[] listCacheFiles() {
+        return directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+    }
+
+    public static class Entry {
+        @SerializedName("response")
+        private final WeatherResponse response;
+
+        @SerializedName("fetchedAt")
+        private final long fetchedAt;
+
+        Entry(WeatherResponse response, long fetchedAt) {
+            this.response = response;
+            this.fetchedAt = fetchedAt;
+        }
+
+        public WeatherResponse getResponse() { return response; }
+        public long getFetchedAt() { return fetchedAt; }
+    }
+}
@@ -0,0 +1,21 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+public class WeatherGroupResponse {
+    @SerializedName("cnt")
+    private int count;
+
+    @SerializedName("list")
+    private List<WeatherResponse> list;
+
+    WeatherGroupResponse(int count, List<WeatherResponse> list) {
+        this.count = count;
+        this.list = list;
+    }
+
+    // Getters
+    public int getCount() { return count; }
+    public List<WeatherResponse> getList() { return list; }
+}
\ No newline at end of file
@@ -0,0 +1,576 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 앱 전체가 공유하는 Gson 인스턴스.
+ * 날씨 모델은 리플렉션 대신 JsonReader 를 직접 훑는 TypeAdapter 로 읽고,
+ * 사용하지 않는 필드는 객체로 만들지 않고 skipValue() 로 건너뛴다.
+ * 예보(ForecastSeries)는 항목 객체 없이 열 배열로 바로 읽는다.
+ */
+public final class WeatherJson {
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(WeatherResponse.class, new WeatherResponseAdapter())
+            .registerTypeAdapter(WeatherGroupResponse.class, new WeatherGroupResponseAdapter())
+            .registerTypeAdapter(ForecastSeries.class, new ForecastSeriesAdapter())
+            .create();
+
+    // /forecast 의 기본 항목 수 (5일 x 3시간)
+    private static final int DEFAULT_FORECAST_CAPACITY = 40;
+    // 설명/아이콘 문자열은 종류가 적으므로 프로세스 전체에서 같은 인스턴스를 쓴다
+    private static final int MAX_INTERNED_STRINGS = 512;
+    private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+
+    private WeatherJson() {
+    }
+
+    static final class WeatherResponseAdapter extends TypeAdapter<WeatherResponse> {
+        @Override
+        public WeatherResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            long cityId = 0;
+            String cityName = null;
+            Main main = null;
+            List<Weather> weather = Collections.emptyList();
+            Wind wind = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        cityId = nextLong(in);
+                        break;
+                    case "name":
+                        cityName = nextString(in);
+                        break;
+                    case "main":
+                        main = readMain(in);
+                        break;
+                    case "weather":
+                        weather = readWeatherList(in);
+                        break;
+                    case "wind":
+                        wind = readWind(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new WeatherResponse(cityId, cityName, main, weather, wind);
+        }
+
+        @Override
+        public void write(JsonWriter out, WeatherResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("id").value(value.getCityId());
+            out.name("name").value(value.getCityName());
+
+            Main main = value.getMain();
+            if (main != null) {
+                out.name("main").beginObject();
+                out.name("temp").value(main.getTemp());
+                out.name("feels_like").value(main.getFeelsLike());
+                out.name("humidity").value(main.getHumidity());
+                out.name("pressure").value(main.getPressure());
+                out.endObject();
+            }
+
+            if (value.getWeather() != null) {
+                out.name("weather").beginArray();
+                for (Weather weather : value.getWeather()) {
+                    out.beginObject();
+                    out.name("id").value(weather.getId());
+                    out.name("main").value(weather.getMain());
+                    out.name("description").value(weather.getDescription());
+                    out.name("icon").value(weather.getIcon());
+                    out.endObject();
+                }
+                out.endArray();
+            }
+
+            if (value.getWind() != null) {
+                out.name("wind").beginObject();
+                out.name("speed").value(value.getWind().getSpeed());
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        private static Main readMain(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            double temp = 0;
+            double feelsLike = 0;
+            int humidity = 0;
+            int pressure = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "temp":
+                        temp = nextDouble(in);
+                        break;
+                    case "feels_like":
+                        feelsLike = nextDouble(in);
+                        break;
+                    case "humidity":
+                        humidity = (int) nextLong(in);
+                        break;
+                    case "pressure":
+                        pressure = (int) nextLong(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Main(temp, feelsLike, humidity, pressure);
+        }
+
+        private static List<Weather> readWeatherList(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return Collections.emptyList();
+            }
+
+            List<Weather> list = new ArrayList<>(1);
+            in.beginArray();
+            while (in.hasNext()) {
+                int id = 0;
+                String main = null;
+                String description = null;
+                String icon = null;
+
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "id":
+                            id = (int) nextLong(in);
+                            break;
+                        case "main":
+                            main = nextString(in);
+                            break;
+                        case "description":
+                            description = nextString(in);
+                            break;
+                        case "icon":
+                            icon = nextString(in);
+                            break;
+                        default:
+                            in.skipValue();
+                    }
+                }
+                in.endObject();
+                list.add(new Weather(id, main, description, icon));
+            }
+            in.endArray();
+            return list;
+        }
+
+        private static Wind readWind(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            double speed = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("speed".equals(in.nextName())) {
+                    speed = nextDouble(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Wind(speed);
+        }
+    }
+
+    static final class WeatherGroupResponseAdapter extends TypeAdapter<WeatherGroupResponse> {
+        private final WeatherResponseAdapter itemAdapter = new WeatherResponseAdapter();
+
+        @Override
+        public WeatherGroupResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            int count = 0;
+            List<WeatherResponse> list = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "cnt":
+                        count = (int) nextLong(in);
+                        break;
+                    case "list":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            break;
+                        }
+                        list = new ArrayList<>();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            list.add(itemAdapter.read(in));
+                        }
+                        in.endArray();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new WeatherGroupResponse(count, list);
+        }
+
+        @Override
+        public void write(JsonWriter out, WeatherGroupResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("cnt").value(value.getCount());
+            if (value.getList() != null) {
+                out.name("list").beginArray();
+                for (WeatherResponse item : value.getList()) {
+                    itemAdapter.write(out, item);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+    }
+
+    static final class ForecastSeriesAdapter extends TypeAdapter<ForecastSeries> {
+        @Override
+        public ForecastSeries read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            long cityId = 0;
+            String cityName = null;
+            int timezoneOffset = 0;
+            int expected = DEFAULT_FORECAST_CAPACITY;
+            ForecastColumns columns = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "cnt":
+                        // 보통 list 보다 먼저 오므로 배열 크기를 미리 정할 수 있다
+                        expected = Math.max(1, (int) nextLong(in));
+                        break;
+                    case "list":
+                        columns = readList(in, expected);
+                        break;
+                    case "city":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            break;
+                        }
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "id":
+                                    cityId = nextLong(in);
+                                    break;
+                                case "name":
+                                    cityName = nextString(in);
+                                    break;
+                                case "timezone":
+                                    timezoneOffset = (int) nextLong(in);
+                                    break;
+                                default:
+                                    in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if (columns == null) {
+                columns = new ForecastColumns(0);
+            }
+            return columns.toSeries(cityId, cityName, timezoneOffset);
+        }
+
+        private static ForecastColumns readList(JsonReader in, int expected) throws IOException {
+            ForecastColumns columns = new ForecastColumns(expected);
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return columns;
+            }
+
+            in.beginArray();
+            while (in.hasNext()) {
+                long time = 0;
+                double temperature = 0;
+                double feelsLike = 0;
+                int humidity = 0;
+                double windSpeed = 0;
+                String description = null;
+                String icon = null;
+
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "dt":
+                            time = nextLong(in) * 1000L;
+                            break;
+                        case "main":
+                            if (in.peek() == JsonToken.NULL) {
+                                in.skipValue();
+                                break;
+                            }
+                            in.beginObject();
+                            while (in.hasNext()) {
+                                switch (in.nextName()) {
+                                    case "temp":
+                                        temperature = nextDouble(in);
+                                        break;
+                                    case "feels_like":
+                                        feelsLike = nextDouble(in);
+                                        break;
+                                    case "humidity":
+                                        humidity = (int) nextLong(in);
+                                        break;
+                                    default:
+                                        in.skipValue();
+                                }
+                            }
+                            in.endObject();
+                            break;
+                        case "weather":
+                            // 첫 번째 날씨 상태만 쓴다
+                            if (in.peek() == JsonToken.NULL) {
+                                in.skipValue();
+                                break;
+                            }
+                            in.beginArray();
+                            if (in.hasNext() && in.peek() != JsonToken.NULL) {
+                                in.beginObject();
+                                while (in.hasNext()) {
+                                    switch (in.nextName()) {
+                                        case "description":
+                                            description = nextString(in);
+                                            break;
+                                        case "icon":
+                                            icon = nextString(in);
+                                            break;
+                                        default:
+                                            in.skipValue();
+                                    }
+                                }
+                                in.endObject();
+                            }
+                            while (in.hasNext()) {
+                                in.skipValue();
+                            }
+                            in.endArray();
+                            break;
+                        case "wind":
+                            if (in.peek() == JsonToken.NULL) {
+                                in.skipValue();
+                                break;
+                            }
+                            in.beginObject();
+                            while (in.hasNext()) {
+                                if ("speed".equals(in.nextName())) {
+                                    windSpeed = nextDouble(in);
+                                } else {
+                                    in.skipValue();
+                                }
+                            }
+                            in.endObject();
+                            break;
+                        default:
+                            in.skipValue();
+                    }
+                }
+                in.endObject();
+                columns.add(time, temperature, feelsLike, humidity, windSpeed, description, icon);
+            }
+            in.endArray();
+            return columns;
+        }
+
+        @Override
+        public void write(JsonWriter out, ForecastSeries value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("cnt").value(value.size());
+            out.name("list").beginArray();
+            for (int i = 0; i < value.size(); i++) {
+                out.beginObject();
+                out.name("dt").value(value.timeMillis(i) / 1000L);
+                out.name("main").beginObject();
+                out.name("temp").value(value.temperature(i));
+                out.name("feels_like").value(value.feelsLike(i));
+                out.name("humidity").value(value.humidity(i));
+                out.endObject();
+                out.name("weather").beginArray();
+                out.beginObject();
+                out.name("description").value(value.description(i));
+                out.name("icon").value(value.iconCode(i));
+                out.endObject();
+                out.endArray();
+                out.name("wind").beginObject();
+                out.name("speed").value(value.windSpeed(i));
+                out.endObject();
+                out.endObject();
+            }
+            out.endArray();
+            out.name("city").beginObject();
+            out.name("id").value(value.getCityId());
+            out.name("name").value(value.getCityName());
+            out.name("timezone").value(value.getTimezoneOffsetSeconds());
+            out.endObject();
+            out.endObject();
+        }
+    }
+
+    // 디코딩 중에 늘어나는 열 버퍼
+    private static final class ForecastColumns {
+        private int size;
+        private long[] time;
+        private float[] temperature;
+        private float[] feelsLike;
+        private byte[] humidity;
+        private float[] windSpeed;
+        private short[] descriptionIndex;
+        private short[] iconIndex;
+        private final List<String> dictionary = new ArrayList<>();
+
+        ForecastColumns(int capacity) {
+            time = new long[capacity];
+            temperature = new float[capacity];
+            feelsLike = new float[capacity];
+            humidity = new byte[capacity];
+            windSpeed = new float[capacity];
+            descriptionIndex = new short[capacity];
+            iconIndex = new short[capacity];
+        }
+
+        void add(long timeMillis, double temp, double feels, int humid, double wind,
+                 String description, String icon) {
+            if (size == time.length) {
+                int capacity = Math.max(DEFAULT_FORECAST_CAPACITY, size * 2);
+                time = Arrays.copyOf(time, capacity);
+                temperature = Arrays.copyOf(temperature, capacity);
+                feelsLike = Arrays.copyOf(feelsLike, capacity);
+                humidity = Arrays.copyOf(humidity, capacity);
+                windSpeed = Arrays.copyOf(windSpeed, capacity);
+                descriptionIndex = Arrays.copyOf(descriptionIndex, capacity);
+                iconIndex = Arrays.copyOf(iconIndex, capacity);
+            }
+            time[size] = timeMillis;
+            temperature[size] = (float) temp;
+            feelsLike[size] = (float) feels;
+            humidity[size] = (byte) Math.max(0, Math.min(100, humid));
+            windSpeed[size] = (float) wind;
+            descriptionIndex[size] = indexOf(description);
+            iconIndex[size] = indexOf(icon);
+            size++;
+        }
+
+        // 사전은 보통 열 개 미만이므로 선형 탐색이 해시보다 싸다
+        private short indexOf(String value) {
+            if (value == null) {
+                return -1;
+            }
+            for (int i = 0; i < dictionary.size(); i++) {
+                if (dictionary.get(i).equals(value)) {
+                    return (short) i;
+                }
+            }
+            if (dictionary.size() >= Short.MAX_VALUE) {
+                throw new IllegalStateException("too many distinct forecast strings");
+            }
+            dictionary.add(intern(value));
+            return (short) (dictionary.size() - 1);
+        }
+
+        ForecastSeries toSeries(long cityId, String cityName, int timezoneOffset) {
+            return new ForecastSeries(cityId, cityName, timezoneOffset, size,
+                    time, temperature, feelsLike, humidity, windSpeed,
+                    descriptionIndex, iconIndex, dictionary.toArray(new String[0]));
+        }
+    }
+
+    private static String intern(String value) {
+        String existing = INTERNED.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (INTERNED.size() >= MAX_INTERNED_STRINGS) {
+            return value;
+        }
+        existing = INTERNED.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextDouble();
+    }
+
+    private static long nextLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return (long) in.nextDouble();
+    }
+}
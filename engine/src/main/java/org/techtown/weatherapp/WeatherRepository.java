@@ -0,0 +1,159 @@
+package org.techtown.weatherapp;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 캐시 우선으로 날씨를 조회한다.
+ * maxAge 이내의 항목은 네트워크 없이 그대로 쓰고, 그 뒤 staleWhileRevalidate 구간에서는
+ * 캐시를 먼저 보여준 다음 백그라운드에서 다시 받아온다.
+ * 네트워크 요청은 WeatherRequestCoordinator 를 거쳐 중복 없이 나간다.
+ */
+public class WeatherRepository {
+    public static final long DEFAULT_MAX_AGE_MILLIS = 5 * 60 * 1000L;
+    public static final long DEFAULT_STALE_WHILE_REVALIDATE_MILLIS = 30 * 60 * 1000L;
+
+    private final WeatherRequestCoordinator coordinator;
+    private final WeatherCache cache;
+    private final TimeSource clock;
+    private final Executor ioExecutor;
+    private final Executor callbackExecutor;
+    private final long maxAgeMillis;
+    private final long staleWhileRevalidateMillis;
+
+    public interface Listener {
+        void onWeather(WeatherResponse response, boolean fromCache);
+
+        void onError(Throwable t);
+    }
+
+    public WeatherRepository(WeatherService service, String apiKey, WeatherCache cache,
+                             TimeSource clock, Executor ioExecutor, Executor callbackExecutor) {
+        this(service, apiKey, cache, clock, ioExecutor, callbackExecutor,
+                DEFAULT_MAX_AGE_MILLIS, DEFAULT_STALE_WHILE_REVALIDATE_MILLIS);
+    }
+
+    public WeatherRepository(WeatherService service, String apiKey, WeatherCache cache,
+                             TimeSource clock, Executor ioExecutor, Executor callbackExecutor,
+                             long maxAgeMillis, long staleWhileRevalidateMillis) {
+        this(new WeatherRequestCoordinator(service, apiKey, cache.getGridDegrees()), cache, clock,
+                ioExecutor, callbackExecutor, maxAgeMillis, staleWhileRevalidateMillis);
+    }
+
+    public WeatherRepository(WeatherRequestCoordinator coordinator, WeatherCache cache,
+                             TimeSource clock, Executor ioExecutor, Executor callbackExecutor,
+                             long maxAgeMillis, long staleWhileRevalidateMillis) {
+        this.coordinator = coordinator;
+        this.cache = cache;
+        this.clock = clock;
+        this.ioExecutor = ioExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.maxAgeMillis = maxAgeMillis;
+        this.staleWhileRevalidateMillis = staleWhileRevalidateMillis;
+    }
+
+    public WeatherRequestCoordinator.Handle load(double latitude, double longitude, Listener listener) {
+        return load(latitude, longitude, false, listener);
+    }
+
+    /**
+     * forceNetwork 이면 캐시가 최근 것이어도 네트워크에서 다시 받는다 (사용자가 강제로 새로고침할 때).
+     * 그때도 요청이 실패하면 캐시된 응답을 보여준다.
+     */
+    public WeatherRequestCoordinator.Handle load(double latitude, double longitude, boolean forceNetwork,
+                                                 Listener listener) {
+        Request request = new Request(listener);
+        ioExecutor.execute(() -> {
+            if (request.cancelled) {
+                return;
+            }
+
+            String key = cache.keyFor(latitude, longitude);
+            WeatherCache.Entry entry = cache.get(key);
+            long age = entry != null ? clock.currentTimeMillis() - entry.getFetchedAt() : Long.MAX_VALUE;
+
+            if (forceNetwork) {
+                fetch(request, key, latitude, longitude, entry, true);
+            } else if (entry != null && age <= maxAgeMillis) {
+                PerfMetrics.get().increment(PerfMetrics.Counter.WEATHER_CACHE_HIT);
+                request.deliver(entry.getResponse(), true);
+            } else if (entry != null && age <= maxAgeMillis + staleWhileRevalidateMillis) {
+                PerfMetrics.get().increment(PerfMetrics.Counter.WEATHER_CACHE_STALE_HIT);
+                request.deliver(entry.getResponse(), true);
+                fetch(request, key, latitude, longitude, null, false);
+            } else {
+                PerfMetrics.get().increment(PerfMetrics.Counter.WEATHER_CACHE_MISS);
+                fetch(request, key, latitude, longitude, entry, true);
+            }
+        });
+        return request;
+    }
+
+    private void fetch(Request request, String key, double latitude, double longitude,
+                       WeatherCache.Entry fallback, boolean reportErrors) {
+        request.attach(coordinator.request(latitude, longitude, new WeatherRequestCoordinator.Listener() {
+            @Override
+            public void onSuccess(WeatherResponse response) {
+                long fetchedAt = clock.currentTimeMillis();
+                ioExecutor.execute(() -> cache.put(key, response, fetchedAt));
+                request.deliver(response, false);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (fallback != null) {
+                    // 네트워크 실패 시 오래된 캐시라도 보여준다
+                    request.deliver(fallback.getResponse(), true);
+                } else if (reportErrors) {
+                    request.fail(t);
+                }
+            }
+        }));
+    }
+
+    private final class Request implements WeatherRequestCoordinator.Handle {
+        private final Listener listener;
+        private volatile boolean cancelled;
+        private WeatherRequestCoordinator.Handle network;
+
+        Request(Listener listener) {
+            this.listener = listener;
+        }
+
+        synchronized void attach(WeatherRequestCoordinator.Handle handle) {
+            if (cancelled) {
+                handle.cancel();
+            } else {
+                network = handle;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            WeatherRequestCoordinator.Handle handle;
+            synchronized (this) {
+                cancelled = true;
+                handle = network;
+                network = null;
+            }
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+
+        void deliver(WeatherResponse response, boolean fromCache) {
+            callbackExecutor.execute(() -> {
+                if (!cancelled) {
+                    listener.onWeather(response, fromCache);
+                }
+            });
+        }
+
+        void fail(Throwable t) {
+            callbackExecutor.execute(() -> {
+                if (!cancelled) {
+                    listener.onError(t);
+                }
+            });
+        }
+    }
+}
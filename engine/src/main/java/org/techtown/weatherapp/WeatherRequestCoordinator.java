@@ -0,0 +1,130 @@
+package org.techtown.weatherapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * WeatherService.getWeather 앞단의 요청 조정자.
+ * 같은 격자 칸에 대한 동시 요청은 하나의 네트워크 호출로 합치고,
+ * 모든 호출자가 취소하면 실제 Call 도 취소한다.
+ */
+public class WeatherRequestCoordinator {
+    private final WeatherService service;
+    private final String apiKey;
+    private final double gridDegrees;
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    public interface Listener {
+        void onSuccess(WeatherResponse response);
+
+        void onFailure(Throwable t);
+    }
+
+    public interface Handle {
+        void cancel();
+    }
+
+    public WeatherRequestCoordinator(WeatherService service, String apiKey, double gridDegrees) {
+        this.service = service;
+        this.apiKey = apiKey;
+        this.gridDegrees = gridDegrees;
+    }
+
+    public Handle request(double latitude, double longitude, Listener listener) {
+        String key = WeatherCache.keyFor(latitude, longitude, gridDegrees);
+        InFlight request;
+        boolean created = false;
+
+        synchronized (inFlight) {
+            request = inFlight.get(key);
+            if (request == null) {
+                request = new InFlight(key,
+                        service.getWeather(latitude, longitude, apiKey, "metric", "kr"));
+                inFlight.put(key, request);
+                created = true;
+            }
+            request.listeners.add(listener);
+        }
+
+        if (created) {
+            request.start();
+        }
+        InFlight joined = request;
+        return () -> joined.remove(listener);
+    }
+
+    public int inFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    private final class InFlight implements Callback<WeatherResponse> {
+        private final String key;
+        private final Call<WeatherResponse> call;
+        private final List<Listener> listeners = new ArrayList<>();
+
+        InFlight(String key, Call<WeatherResponse> call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        void start() {
+            call.enqueue(this);
+        }
+
+        void remove(Listener listener) {
+            boolean cancel;
+            synchronized (inFlight) {
+                if (!listeners.remove(listener)) {
+                    return;
+                }
+                cancel = listeners.isEmpty() && inFlight.get(key) == this;
+                if (cancel) {
+                    inFlight.remove(key);
+                }
+            }
+            if (cancel) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
+            WeatherResponse body = response.body();
+            List<Listener> targets = complete();
+            for (Listener listener : targets) {
+                if (response.isSuccessful() && body != null) {
+                    listener.onSuccess(body);
+                } else {
+                    listener.onFailure(new HttpException(response));
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(Call<WeatherResponse> call, Throwable t) {
+            for (Listener listener : complete()) {
+                listener.onFailure(t);
+            }
+        }
+
+        private List<Listener> complete() {
+            synchronized (inFlight) {
+                if (inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+                List<Listener> targets = new ArrayList<>(listeners);
+                listeners.clear();
+                return targets;
+            }
+        }
+    }
+}
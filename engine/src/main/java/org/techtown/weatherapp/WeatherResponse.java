@@ -4,6 +4,9 @@ import com.google.gson.annotations.SerializedName;
 import java.util.List;
 
 public class WeatherResponse {
+    @SerializedName("id")
+    private long cityId;
+
     @SerializedName("name")
     private String cityName;
 
@@ -16,7 +19,16 @@ public class WeatherResponse {
     @SerializedName("wind")
     private Wind wind;
 
+    WeatherResponse(long cityId, String cityName, Main main, List<Weather> weather, Wind wind) {
+        this.cityId = cityId;
+        this.cityName = cityName;
+        this.main = main;
+        this.weather = weather;
+        this.wind = wind;
+    }
+
     // Getters
+    public long getCityId() { return cityId; }
     public String getCityName() { return cityName; }
     public Main getMain() { return main; }
     public List<Weather> getWeather() { return weather; }
@@ -36,6 +48,13 @@ class Main {
     @SerializedName("pressure")
     private int pressure;
 
+    Main(double temp, double feelsLike, int humidity, int pressure) {
+        this.temp = temp;
+        this.feelsLike = feelsLike;
+        this.humidity = humidity;
+        this.pressure = pressure;
+    }
+
     // Getters
     public double getTemp() { return temp; }
     public double getFeelsLike() { return feelsLike; }
@@ -56,6 +75,13 @@ class Weather {
     @SerializedName("icon")
     private String icon;
 
+    Weather(int id, String main, String description, String icon) {
+        this.id = id;
+        this.main = main;
+        this.description = description;
+        this.icon = icon;
+    }
+
     // Getters
     public int getId() { return id; }
     public String getMain() { return main; }
@@ -67,6 +93,10 @@ class Wind {
     @SerializedName("speed")
     private double speed;
 
+    Wind(double speed) {
+        this.speed = speed;
+    }
+
     // Getter
     public double getSpeed() { return speed; }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package org.techtown.weatherapp;
+
+import retrofit2.Call;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+public interface WeatherService {
+    @GET("weather")
+    Call<WeatherResponse> getWeather(
+            @Query("lat") double latitude,
+            @Query("lon") double longitude,
+            @Query("appid") String apiKey,
+            @Query("units") String units,
+            @Query("lang") String lang
+    );
+
+    // 여러 도시를 한 번에 조회 (도시 ID 최대 20개, 쉼표로 구분)
+    @GET("group")
+    Call<WeatherGroupResponse> getWeatherGroup(
+            @Query("id") String cityIds,
+            @Query("appid") String apiKey,
+            @Query("units") String units,
+            @Query("lang") String lang
+    );
+
+    // 5일치 3시간 간격 예보 (열 배열 ForecastSeries 로 디코딩)
+    @GET("forecast")
+    Call<ForecastSeries> getForecast(
+            @Query("lat") double latitude,
+            @Query("lon") double longitude,
+            @Query("appid") String apiKey,
+            @Query("units") String units,
+            @Query("lang") String lang
+    );
+}
\ No newline at end of file
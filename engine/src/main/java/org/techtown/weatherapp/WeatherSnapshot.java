@@ -0,0 +1,101 @@
+package org.techtown.weatherapp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 마지막으로 화면에 그린 날씨 상태.
+ * 다음 실행 때 위치/네트워크를 기다리지 않고 첫 화면에 바로 그리기 위해 작은 이진 파일로 보관한다.
+ */
+final class WeatherSnapshot {
+    private static final int FORMAT_VERSION = 1;
+
+    final double temperature;
+    final double feelsLike;
+    final int humidity;
+    final String description;
+    final String iconCode;
+    final String cityName;
+    final long savedAt;
+
+    WeatherSnapshot(double temperature, double feelsLike, int humidity, String description,
+                    String iconCode, String cityName, long savedAt) {
+        this.temperature = temperature;
+        this.feelsLike = feelsLike;
+        this.humidity = humidity;
+        this.description = description != null ? description : "";
+        this.iconCode = iconCode != null ? iconCode : "";
+        this.cityName = cityName != null ? cityName : "";
+        this.savedAt = savedAt;
+    }
+
+    static WeatherSnapshot from(WeatherResponse response, String cityName, long savedAt) {
+        String description = null;
+        String iconCode = null;
+        if (response.getWeather() != null && !response.getWeather().isEmpty()) {
+            description = response.getWeather().get(0).getDescription();
+            iconCode = response.getWeather().get(0).getIcon();
+        }
+        return new WeatherSnapshot(
+                response.getMain().getTemp(),
+                response.getMain().getFeelsLike(),
+                response.getMain().getHumidity(),
+                description,
+                iconCode,
+                cityName,
+                savedAt
+        );
+    }
+
+    WeatherSnapshot withCityName(String name) {
+        return new WeatherSnapshot(temperature, feelsLike, humidity, description, iconCode, name, savedAt);
+    }
+
+    /** 파일이 없거나 형식이 맞지 않으면 null. */
+    static WeatherSnapshot read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            return new WeatherSnapshot(
+                    in.readDouble(),
+                    in.readDouble(),
+                    in.readInt(),
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readLong()
+            );
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    void write(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeDouble(temperature);
+            out.writeDouble(feelsLike);
+            out.writeInt(humidity);
+            out.writeUTF(description);
+            out.writeUTF(iconCode);
+            out.writeUTF(cityName);
+            out.writeLong(savedAt);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class AddressAutocompleteTest {
+    private static final AddressSuggestion CITY_HALL = new AddressSuggestion("서울특별시 중구 세종대로 110", 37.5663, 126.9779);
+    private static final AddressSuggestion BUSAN_STATION = new AddressSuggestion("부산광역시 동구 중앙대로 206", 35.1151, 129.0422);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final List<String> lookups = new CopyOnWriteArrayList<>();
+    private final List<GeocodeScheduler.Completion<List<AddressSuggestion>>> running = new CopyOnWriteArrayList<>();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private ForwardGeocodeCache cache;
+    private AddressAutocomplete autocomplete;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new ForwardGeocodeCache(folder.newFile("forward_geocode.json"), now::get);
+        autocomplete = create(cache);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void typingIsDebouncedIntoOneLookup() {
+        autocomplete.update("서");
+        autocomplete.update("서울");
+        autocomplete.update("서울 시청");
+
+        assertTrue(lookups.isEmpty());
+        autocomplete.flush();
+        autocomplete.flush();
+        assertEquals(List.of("서울 시청"), lookups);
+
+        running.get(0).onResult(List.of(CITY_HALL));
+        assertEquals("서울 시청 " + CITY_HALL.label + " done", last());
+    }
+
+    @Test
+    public void repeatedAddressIsServedFromCacheWithoutGeocoder() {
+        resolve("서울시청", CITY_HALL);
+
+        autocomplete.update("부산");
+        autocomplete.update("  서울시청 ");
+
+        assertEquals(List.of("서울시청"), lookups);
+        assertEquals("서울시청 " + CITY_HALL.label + " done", last());
+        assertEquals(List.of(CITY_HALL), autocomplete.cached("서울시청"));
+    }
+
+    @Test
+    public void keystrokesAreNotCountedAsCacheLookups() {
+        resolve("서울시청", CITY_HALL);
+        PerfMetrics metrics = PerfMetrics.get();
+        long hits = metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT);
+        long misses = metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS);
+
+        autocomplete.update("서울");
+        autocomplete.update("서울시");
+        autocomplete.update("서울시청");
+        autocomplete.update("부산");
+        autocomplete.update("부산역");
+        autocomplete.flush();
+
+        // Geocoder 까지 간 "부산역" 한 번만 센다
+        assertEquals(hits, metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT));
+        assertEquals(misses + 1, metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS));
+    }
+
+    @Test
+    public void settledCachedQueryCountsOneHit() {
+        resolve("서울시청", CITY_HALL);
+        PerfMetrics metrics = PerfMetrics.get();
+        long hits = metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT);
+        long misses = metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS);
+
+        autocomplete.update("서울");
+        autocomplete.update("서울시청");
+        autocomplete.flush();
+        autocomplete.flush();
+
+        assertEquals(hits + 1, metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_HIT));
+        assertEquals(misses, metrics.count(PerfMetrics.Counter.FORWARD_GEOCODE_CACHE_MISS));
+        assertEquals(1, lookups.size());
+    }
+
+    @Test
+    public void prefixesResolveLocallyBeforeGeocoderReturns() {
+        resolve("서울시청", CITY_HALL);
+        autocomplete.addKnownPlace(BUSAN_STATION);
+
+        // 단어 접두사와 예전 입력의 접두사 모두 바로 후보가 된다
+        autocomplete.update("세종");
+        assertEquals("세종 " + CITY_HALL.label + " searching", last());
+        autocomplete.update("서울시");
+        assertEquals("서울시 " + CITY_HALL.label + " searching", last());
+        autocomplete.update("중앙대");
+        assertEquals("중앙대 " + BUSAN_STATION.label + " searching", last());
+        assertEquals(1, lookups.size());
+    }
+
+    @Test
+    public void cachedResultsSurviveRestart() throws IOException {
+        resolve("서울시청", CITY_HALL);
+
+        ForwardGeocodeCache reloaded = new ForwardGeocodeCache(
+                new java.io.File(folder.getRoot(), "forward_geocode.json"), now::get);
+        reloaded.load();
+        AddressAutocomplete restarted = create(reloaded);
+        restarted.indexCached();
+
+        restarted.update("서울시청");
+        assertEquals("서울시청 " + CITY_HALL.label + " done", last());
+        restarted.update("세종대로");
+        assertEquals("세종대로 " + CITY_HALL.label + " searching", last());
+        assertEquals(1, lookups.size());
+    }
+
+    @Test
+    public void outdatedLookupIsCancelledAndItsResultDropped() {
+        autocomplete.update("부산역");
+        autocomplete.flush();
+        autocomplete.update("서울시청");
+        autocomplete.flush();
+
+        assertEquals(List.of("부산역", "서울시청"), lookups);
+        running.get(0).onResult(List.of(BUSAN_STATION));
+        running.get(1).onResult(List.of(CITY_HALL));
+
+        for (String event : events) {
+            assertFalse(event, event.contains(BUSAN_STATION.label));
+        }
+        assertEquals("서울시청 " + CITY_HALL.label + " done", last());
+        assertNull(autocomplete.cached("부산역"));
+    }
+
+    @Test
+    public void closedInputDropsPendingLookup() {
+        autocomplete.update("부산역");
+        autocomplete.clear();
+        autocomplete.flush();
+
+        assertTrue(lookups.isEmpty());
+    }
+
+    @Test
+    public void addressNotFoundIsRememberedOnlyBriefly() {
+        resolve("없는주소");
+
+        autocomplete.update("부산");
+        autocomplete.update("없는주소");
+        assertEquals("없는주소  done", last());
+
+        now.addAndGet(ForwardGeocodeCache.NOT_FOUND_TTL_MILLIS + 1);
+        autocomplete.update("부산");
+        autocomplete.update("없는주소");
+        assertEquals("없는주소  searching", last());
+    }
+
+    @Test
+    public void failedLookupKeepsLocalSuggestionsAndIsNotCached() {
+        autocomplete.addKnownPlace(CITY_HALL);
+        autocomplete.update("서울특별시");
+        autocomplete.flush();
+        running.get(0).onError(new IOException("offline"));
+
+        assertEquals("서울특별시 " + CITY_HALL.label + " done", last());
+        assertNull(autocomplete.cached("서울특별시"));
+    }
+
+    private AddressAutocomplete create(ForwardGeocodeCache cache) {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 5_000);
+        return new AddressAutocomplete(cache, scheduler, (query, maxResults) -> done -> {
+            lookups.add(query);
+            running.add(done);
+        }, timer, Runnable::run, Runnable::run, 60_000L, AddressAutocomplete.DEFAULT_LIMIT,
+                (query, suggestions, searching) -> {
+                    List<String> labels = new ArrayList<>();
+                    for (AddressSuggestion suggestion : suggestions) {
+                        labels.add(suggestion.label);
+                    }
+                    events.add(query + " " + String.join(", ", labels) + (searching ? " searching" : " done"));
+                });
+    }
+
+    private void resolve(String query, AddressSuggestion... places) {
+        autocomplete.update(query);
+        autocomplete.flush();
+        running.get(running.size() - 1).onResult(places.length > 0 ? List.of(places) : Collections.emptyList());
+    }
+
+    private String last() {
+        return events.get(events.size() - 1);
+    }
+}
@@ -0,0 +1,122 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+public class ApiClientTest {
+    private final MockWebServer server = new MockWebServer();
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void gzipResponsesAreDecodedTransparently() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(gzip(WeatherRepositoryTest.readFixture("weather_seoul.json"))));
+
+        Response<WeatherResponse> response = ApiClient.createWeatherService(server.url("/").toString())
+                .getWeather(37.5, 127.0, "key", "metric", "kr").execute();
+
+        assertEquals("Seoul", response.body().getCityName());
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void prewarmedConnectionIsReused() throws Exception {
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody(WeatherRepositoryTest.readFixture("weather_seoul.json")));
+        OkHttpClient client = ApiClient.buildHttpClient();
+
+        ApiClient.prewarm(client, server.url("/"));
+        RecordedRequest head = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("HEAD", head.getMethod());
+        // 응답이 닫혀 연결이 풀로 돌아갈 때까지 기다린다
+        for (int i = 0; i < 50 && client.connectionPool().idleConnectionCount() == 0; i++) {
+            Thread.sleep(20);
+        }
+
+        client.newCall(new okhttp3.Request.Builder().url(server.url("/weather")).build()).execute().close();
+        RecordedRequest get = server.takeRequest();
+        assertEquals(1, get.getSequenceNumber());
+        assertEquals(1, client.connectionPool().connectionCount());
+    }
+
+    @Test
+    public void dnsResultsAreCachedUntilTtlExpires() throws UnknownHostException {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicLong now = new AtomicLong(0);
+        List<InetAddress> loopback = Collections.singletonList(InetAddress.getLoopbackAddress());
+        Dns delegate = hostname -> {
+            lookups.incrementAndGet();
+            return loopback;
+        };
+        CachingDns dns = new CachingDns(delegate, now::get, 1_000L);
+
+        assertSame(loopback, dns.lookup("api.openweathermap.org"));
+        now.set(999);
+        dns.lookup("api.openweathermap.org");
+        assertEquals(1, lookups.get());
+
+        now.set(1_000);
+        dns.lookup("api.openweathermap.org");
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void expiredDnsResultIsUsedWhenLookupFails() throws UnknownHostException {
+        AtomicLong now = new AtomicLong(0);
+        List<InetAddress> loopback = Collections.singletonList(InetAddress.getLoopbackAddress());
+        AtomicInteger calls = new AtomicInteger();
+        Dns delegate = hostname -> {
+            if (calls.getAndIncrement() > 0) {
+                throw new UnknownHostException(hostname);
+            }
+            return loopback;
+        };
+        CachingDns dns = new CachingDns(delegate, now::get, 1_000L);
+
+        dns.lookup("api.openweathermap.org");
+        now.set(5_000);
+        assertSame(loopback, dns.lookup("api.openweathermap.org"));
+    }
+
+    private static Buffer gzip(String text) throws IOException {
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            sink.writeString(text, StandardCharsets.UTF_8);
+        }
+        return compressed;
+    }
+}
@@ -0,0 +1,152 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class BackgroundRefreshJobTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicBoolean gate = new AtomicBoolean(false);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean holdResponses = false;
+    private WeatherCache cache;
+    private BackgroundRefreshJob job;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (holdResponses) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                if (request.getPath().startsWith("/group")) {
+                    String[] ids = request.getRequestUrl().queryParameter("id").split(",");
+                    StringBuilder body = new StringBuilder("{\"cnt\":" + ids.length + ",\"list\":[");
+                    for (int i = 0; i < ids.length; i++) {
+                        body.append(i > 0 ? "," : "").append(weatherJson(Long.parseLong(ids[i])));
+                    }
+                    return new MockResponse().setBody(body.append("]}").toString());
+                }
+                double lat = Double.parseDouble(request.getRequestUrl().queryParameter("lat"));
+                return new MockResponse().setBody(weatherJson(1000 + Math.round(lat * 10)));
+            }
+        });
+        server.start();
+        WeatherService service = ApiClient.createWeatherService(server.url("/").toString());
+        cache = new WeatherCache(folder.getRoot());
+        WeatherRequestCoordinator coordinator =
+                new WeatherRequestCoordinator(service, "test-key", cache.getGridDegrees());
+        BulkWeatherRefresher refresher = new BulkWeatherRefresher(service, "test-key", coordinator,
+                cache, now::get, Runnable::run, 4, 60_000L);
+        job = new BackgroundRefreshJob(refresher, cache, gate);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void refreshesCurrentAndSavedLocationsInOneRun() throws Exception {
+        SavedLocation current = new SavedLocation(BackgroundRefreshJob.CURRENT_LOCATION_ID, "", 37.0, 127.0, 0);
+
+        BulkWeatherRefresher.Result result = job.runBlocking(current, locations(3), 10_000L);
+
+        assertEquals(4, result.getRequested());
+        assertEquals(4, result.getRefreshed());
+        assertEquals(4, server.getRequestCount());
+        assertNotNull(cache.get(cache.keyFor(37.0, 127.0)));
+        assertEquals(now.get(), job.oldestFetchedAt(current, locations(3)));
+        assertFalse(gate.get());
+    }
+
+    @Test
+    public void currentLocationInsideSavedCellIsRequestedOnce() throws Exception {
+        List<SavedLocation> saved = locations(2);
+        // 첫 번째 저장 위치와 같은 캐시 칸
+        SavedLocation current = new SavedLocation(BackgroundRefreshJob.CURRENT_LOCATION_ID, "",
+                saved.get(0).latitude + 0.0001, saved.get(0).longitude, 0);
+
+        BulkWeatherRefresher.Result result = job.runBlocking(current, saved, 10_000L);
+
+        assertEquals(2, result.getRequested());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void freshCacheMakesNoNetworkCalls() throws Exception {
+        job.runBlocking(null, locations(3), 10_000L);
+        now.addAndGet(30_000L);
+
+        BulkWeatherRefresher.Result result = job.runBlocking(null, locations(3), 10_000L);
+
+        assertEquals(3, result.getSkipped());
+        assertEquals(0, result.getNetworkCalls());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void overlappingRunsAreCoalesced() throws Exception {
+        holdResponses = true;
+        CountDownLatch done = new CountDownLatch(1);
+        assertTrue(job.start(null, locations(2), result -> done.countDown()));
+
+        // 진행 중인 실행이 있으면 새 실행은 만들지 않는다
+        assertFalse(job.start(null, locations(2), result -> fail("coalesced run must not complete")));
+        assertNull(job.runBlocking(null, locations(2), 10_000L));
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+        assertFalse(gate.get());
+    }
+
+    @Test
+    public void oldestFetchedAtReportsMissingAndEmptyTargets() throws Exception {
+        assertEquals(-1, job.oldestFetchedAt(null, new ArrayList<>()));
+        assertEquals(0, job.oldestFetchedAt(null, locations(2)));
+
+        job.runBlocking(null, locations(1), 10_000L);
+        long first = now.get();
+        // 첫 위치는 아직 신선해서 건너뛰고 두 번째 위치만 새로 받는다
+        now.addAndGet(30_000L);
+        job.runBlocking(null, locations(2), 10_000L);
+
+        assertEquals(first, job.oldestFetchedAt(null, locations(2)));
+    }
+
+    private static String weatherJson(long cityId) {
+        return "{\"id\":" + cityId + ",\"name\":\"City\",\"main\":{\"temp\":12.5,\"humidity\":60}}";
+    }
+
+    private static List<SavedLocation> locations(int count) {
+        List<SavedLocation> locations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            locations.add(new SavedLocation("id" + i, "위치 " + i, 33.0 + i * 0.1, 126.0 + i * 0.1, i));
+        }
+        return locations;
+    }
+}
@@ -0,0 +1,89 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class BackgroundRefreshPolicyTest {
+    private static final long MINUTE = 60_000L;
+    // 2025-10-17 15:00 KST
+    private static final long AFTERNOON = 1760680800_000L;
+    // 2025-10-18 01:00 KST
+    private static final long LATE_NIGHT = AFTERNOON + 10 * 60 * MINUTE;
+
+    private final AtomicLong now = new AtomicLong(AFTERNOON);
+    private final BackgroundRefreshPolicy policy =
+            new BackgroundRefreshPolicy(now::get, TimeZone.getTimeZone("Asia/Seoul"));
+
+    @Test
+    public void missingCacheWakesAsSoonAsAllowed() {
+        assertEquals(BackgroundRefreshPolicy.MIN_INTERVAL_MILLIS,
+                policy.nextDelayMillis(conditions(0, false, BackgroundRefreshPolicy.Network.UNMETERED)));
+    }
+
+    @Test
+    public void daytimeIntervalDependsOnPowerAndNetwork() {
+        long fresh = now.get();
+
+        assertEquals(30 * MINUTE,
+                policy.nextDelayMillis(conditions(fresh, false, BackgroundRefreshPolicy.Network.UNMETERED)));
+        assertEquals(15 * MINUTE,
+                policy.nextDelayMillis(conditions(fresh, true, BackgroundRefreshPolicy.Network.UNMETERED)));
+        assertEquals(60 * MINUTE,
+                policy.nextDelayMillis(conditions(fresh, false, BackgroundRefreshPolicy.Network.METERED)));
+    }
+
+    @Test
+    public void olderDataWakesSooner() {
+        long fetchedAt = now.get() - 10 * MINUTE;
+        assertEquals(50 * MINUTE,
+                policy.nextDelayMillis(conditions(fetchedAt, false, BackgroundRefreshPolicy.Network.METERED)));
+
+        // 이미 간격보다 오래됐으면 최소 간격
+        fetchedAt = now.get() - 3 * 60 * MINUTE;
+        assertEquals(BackgroundRefreshPolicy.MIN_INTERVAL_MILLIS,
+                policy.nextDelayMillis(conditions(fetchedAt, false, BackgroundRefreshPolicy.Network.METERED)));
+    }
+
+    @Test
+    public void nightUsesLongerIntervalButWakesBeforeMorning() {
+        now.set(LATE_NIGHT);
+        assertTrue(policy.isNight(now.get()));
+        assertEquals(120 * MINUTE,
+                policy.nextDelayMillis(conditions(now.get(), false, BackgroundRefreshPolicy.Network.UNMETERED)));
+
+        // 04:30 에는 아침 6시 15분 전(05:45)까지만 기다린다
+        now.set(LATE_NIGHT + 210 * MINUTE);
+        assertEquals(75 * MINUTE,
+                policy.nextDelayMillis(conditions(now.get(), false, BackgroundRefreshPolicy.Network.UNMETERED)));
+    }
+
+    @Test
+    public void neverExceedsMaximumInterval() {
+        now.set(LATE_NIGHT);
+        long delay = policy.nextDelayMillis(conditions(now.get(), false, BackgroundRefreshPolicy.Network.NONE));
+
+        assertTrue(delay <= BackgroundRefreshPolicy.MAX_INTERVAL_MILLIS);
+        assertEquals(240 * MINUTE, delay);
+    }
+
+    @Test
+    public void coalescesRunsInsideWindow() {
+        assertTrue(policy.shouldRun(0));
+
+        long lastRun = now.get();
+        now.addAndGet(5 * MINUTE);
+        assertFalse(policy.shouldRun(lastRun));
+
+        now.addAndGet(5 * MINUTE);
+        assertTrue(policy.shouldRun(lastRun));
+    }
+
+    private static BackgroundRefreshPolicy.Conditions conditions(long oldestFetchedAt, boolean charging,
+                                                                 BackgroundRefreshPolicy.Network network) {
+        return new BackgroundRefreshPolicy.Conditions(oldestFetchedAt, charging, network);
+    }
+}
@@ -0,0 +1,150 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class BulkWeatherRefresherTest {
+    private static final long LATENCY_MILLIS = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final AtomicInteger groupCalls = new AtomicInteger();
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    private WeatherService service;
+    private WeatherCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new StubDispatcher());
+        server.start();
+        service = ApiClient.createWeatherService(server.url("/").toString());
+        cache = new WeatherCache(folder.getRoot());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ioExecutor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void refreshesAllLocationsWithBoundedConcurrency() throws Exception {
+        List<SavedLocation> locations = locations(24);
+
+        BulkWeatherRefresher.Result result = refresh(locations, 4, 0);
+
+        assertEquals(24, result.getRefreshed());
+        assertEquals(0, result.getFailed());
+        assertTrue("max concurrent " + maxConcurrent.get(), maxConcurrent.get() <= 4);
+        // 직렬 실행(24 x 50ms)보다 충분히 빨라야 한다
+        assertTrue("elapsed " + result.getElapsedMillis(), result.getElapsedMillis() < 24 * LATENCY_MILLIS);
+        assertTrue(result.latencyPercentileMillis(50) >= LATENCY_MILLIS);
+        for (SavedLocation location : locations) {
+            assertNotNull(cache.get(cache.keyFor(location.latitude, location.longitude)));
+        }
+    }
+
+    @Test
+    public void knownCitiesAreBatchedThroughGroupEndpoint() throws Exception {
+        List<SavedLocation> locations = locations(24);
+        refresh(locations, 4, 0);
+        int singleCalls = server.getRequestCount();
+
+        BulkWeatherRefresher.Result result = refresh(locations, 4, 0);
+
+        assertEquals(24, result.getRefreshed());
+        assertEquals(2, groupCalls.get());
+        assertEquals(singleCalls + 2, server.getRequestCount());
+    }
+
+    @Test
+    public void freshEntriesAreSkipped() throws Exception {
+        List<SavedLocation> locations = locations(5);
+        refresh(locations, 2, 0);
+
+        BulkWeatherRefresher.Result result = refresh(locations, 2, 60_000L);
+
+        assertEquals(5, result.getSkipped());
+        assertEquals(0, result.getNetworkCalls());
+    }
+
+    private BulkWeatherRefresher.Result refresh(List<SavedLocation> locations, int concurrency,
+                                                long maxAgeMillis) throws InterruptedException {
+        WeatherRequestCoordinator coordinator =
+                new WeatherRequestCoordinator(service, "test-key", cache.getGridDegrees());
+        BulkWeatherRefresher refresher = new BulkWeatherRefresher(service, "test-key", coordinator,
+                cache, TimeSource.SYSTEM, ioExecutor, concurrency, maxAgeMillis);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<BulkWeatherRefresher.Result> result = new AtomicReference<>();
+        refresher.refresh(locations, r -> {
+            result.set(r);
+            latch.countDown();
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        return result.get();
+    }
+
+    private static List<SavedLocation> locations(int count) {
+        List<SavedLocation> locations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            locations.add(new SavedLocation("id" + i, "위치 " + i, 33.0 + i * 0.1, 126.0 + i * 0.1, i));
+        }
+        return locations;
+    }
+
+    private static String weatherJson(long cityId) {
+        return "{\"id\":" + cityId + ",\"name\":\"City" + cityId + "\","
+                + "\"main\":{\"temp\":12.5,\"feels_like\":11.0,\"humidity\":60,\"pressure\":1012},"
+                + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"맑음\",\"icon\":\"01d\"}],"
+                + "\"wind\":{\"speed\":1.5}}";
+    }
+
+    private final class StubDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+                if (request.getPath().startsWith("/group")) {
+                    groupCalls.incrementAndGet();
+                    String[] ids = request.getRequestUrl().queryParameter("id").split(",");
+                    StringBuilder body = new StringBuilder("{\"cnt\":" + ids.length + ",\"list\":[");
+                    for (int i = 0; i < ids.length; i++) {
+                        body.append(i > 0 ? "," : "").append(weatherJson(Long.parseLong(ids[i])));
+                    }
+                    return new MockResponse().setBody(body.append("]}").toString());
+                }
+                double lat = Double.parseDouble(request.getRequestUrl().queryParameter("lat"));
+                return new MockResponse().setBody(weatherJson(1000 + Math.round(lat * 10)));
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+}
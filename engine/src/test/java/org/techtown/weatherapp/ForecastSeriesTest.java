@@ -0,0 +1,105 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ForecastSeriesTest {
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void decodesColumnsFromFixture() {
+        ForecastSeries series = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("forecast_seoul.json"), ForecastSeries.class);
+
+        assertEquals(12, series.size());
+        assertEquals(1835848L, series.getCityId());
+        assertEquals("Seoul", series.getCityName());
+        assertEquals(32400, series.getTimezoneOffsetSeconds());
+
+        assertEquals(1760680800_000L, series.timeMillis(0));
+        assertEquals(18.76f, series.temperature(0), DELTA);
+        assertEquals(18.16f, series.feelsLike(0), DELTA);
+        assertEquals(55, series.humidity(0));
+        assertEquals(2.1f, series.windSpeed(0), DELTA);
+        assertEquals("맑음", series.description(0));
+        assertEquals("01d", series.iconCode(0));
+        assertEquals("실 비", series.description(10));
+        assertEquals("10d", series.iconCode(10));
+    }
+
+    @Test
+    public void repeatedStringsShareOneDictionaryEntry() {
+        ForecastSeries series = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("forecast_seoul.json"), ForecastSeries.class);
+
+        // 설명 4종 + 아이콘 6종
+        assertEquals(10, series.dictionary().length);
+        assertEquals(series.descriptionIndex(0), series.descriptionIndex(11));
+        assertSame(series.description(4), series.description(6));
+
+        // 다른 응답을 디코딩해도 같은 문자열 인스턴스를 쓴다
+        ForecastSeries again = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("forecast_seoul.json"), ForecastSeries.class);
+        assertSame(series.description(0), again.description(0));
+    }
+
+    @Test
+    public void splitsDaysInLocalTime() {
+        ForecastSeries series = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("forecast_seoul.json"), ForecastSeries.class);
+
+        // 15시, 18시, 21시(KST) 다음 항목부터 다음 날
+        assertArrayEquals(new int[]{0, 3, 11}, series.dayStartIndices());
+        assertEquals(18.76f, series.minTemperature(0, 3), DELTA);
+        assertEquals(19.36f, series.maxTemperature(0, 3), DELTA);
+        assertEquals(14.76f, series.minTemperature(3, 11), DELTA);
+        assertEquals(19.66f, series.maxTemperature(3, 11), DELTA);
+    }
+
+    @Test
+    public void roundTripsThroughWriter() {
+        ForecastSeries original = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("forecast_seoul.json"), ForecastSeries.class);
+
+        ForecastSeries copy = WeatherJson.GSON.fromJson(WeatherJson.GSON.toJson(original), ForecastSeries.class);
+
+        assertEquals(original.size(), copy.size());
+        assertEquals(original.getCityName(), copy.getCityName());
+        assertEquals(original.getTimezoneOffsetSeconds(), copy.getTimezoneOffsetSeconds());
+        for (int i = 0; i < original.size(); i++) {
+            assertEquals(original.timeMillis(i), copy.timeMillis(i));
+            assertEquals(original.temperature(i), copy.temperature(i), DELTA);
+            assertEquals(original.humidity(i), copy.humidity(i));
+            assertEquals(original.description(i), copy.description(i));
+            assertEquals(original.iconCode(i), copy.iconCode(i));
+        }
+    }
+
+    @Test
+    public void growsWithoutCountAndToleratesMissingSections() {
+        StringBuilder json = new StringBuilder("{\"list\":[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i > 0 ? "," : "").append("{\"dt\":").append(i * 3600)
+                    .append(",\"main\":{\"temp\":").append(i).append("}}");
+        }
+        json.append("]}");
+
+        ForecastSeries series = WeatherJson.GSON.fromJson(json.toString(), ForecastSeries.class);
+
+        assertEquals(100, series.size());
+        assertEquals(99f, series.temperature(99), DELTA);
+        assertNull(series.description(0));
+        assertNull(series.iconCode(0));
+        assertNull(series.getCityName());
+        assertArrayEquals(new int[]{0, 24, 48, 72, 96}, series.dayStartIndices());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndexPastSize() {
+        ForecastSeries series = WeatherJson.GSON.fromJson(
+                "{\"cnt\":40,\"list\":[{\"dt\":0}]}", ForecastSeries.class);
+
+        series.temperature(1);
+    }
+}
@@ -0,0 +1,75 @@
+package org.techtown.weatherapp;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class ForwardGeocodeCacheTest {
+    private static final AddressSuggestion CITY_HALL = new AddressSuggestion("서울특별시 중구 세종대로 110", 37.5663, 126.9779);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    public void normalizesWhitespaceAndCase() {
+        assertEquals("seoul 중구", ForwardGeocodeCache.normalize("  Seoul \t 중구 "));
+    }
+
+    @Test
+    public void persistsOnlyResolvedAddresses() throws IOException {
+        File file = new File(folder.getRoot(), "cache/forward_geocode.json");
+        ForwardGeocodeCache cache = new ForwardGeocodeCache(file, now::get);
+        cache.put("서울시청", List.of(CITY_HALL));
+        cache.put("없는주소", Collections.emptyList());
+        cache.save();
+
+        ForwardGeocodeCache reloaded = new ForwardGeocodeCache(file, now::get);
+        reloaded.load();
+
+        assertEquals(List.of(CITY_HALL), reloaded.get("서울시청"));
+        assertNull(reloaded.get("없는주소"));
+        assertEquals(1, reloaded.size());
+    }
+
+    @Test
+    public void expiresOldEntriesAndEvictsLeastRecentlyUsed() {
+        ForwardGeocodeCache cache = new ForwardGeocodeCache(folder.getRoot(), now::get, 2);
+        cache.put("a", List.of(CITY_HALL));
+        cache.put("b", List.of(CITY_HALL));
+        cache.get("a");
+        cache.put("c", List.of(CITY_HALL));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+
+        now.addAndGet(ForwardGeocodeCache.RESOLVED_TTL_MILLIS + 1);
+        assertNull(cache.get("a"));
+        assertTrue(cache.resolved().isEmpty());
+    }
+
+    @Test
+    public void corruptFileIsDiscarded() throws IOException {
+        File file = folder.newFile("forward_geocode.json");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("{not json".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ForwardGeocodeCache cache = new ForwardGeocodeCache(file, now::get);
+        cache.load();
+
+        assertEquals(0, cache.size());
+        assertFalse(file.exists());
+    }
+}
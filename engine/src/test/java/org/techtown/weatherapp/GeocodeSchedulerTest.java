@@ -0,0 +1,136 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class GeocodeSchedulerTest {
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final List<GeocodeScheduler.Completion<String>> started = new CopyOnWriteArrayList<>();
+    private final List<String> startedNames = new CopyOnWriteArrayList<>();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void userLookupsJumpAheadOfQueuedBackgroundLookups() {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 5_000);
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, null, lookup("bg1"), record());
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, null, lookup("bg2"), record());
+        scheduler.submit(GeocodeScheduler.Priority.USER, null, lookup("user"), record());
+
+        finishLatest();
+        finishLatest();
+        finishLatest();
+
+        assertEquals(List.of("bg1", "user", "bg2"), startedNames);
+        assertEquals(List.of("bg1", "user", "bg2"), delivered);
+    }
+
+    @Test
+    public void newerLookupWithSameKeySupersedesOlderOnes() {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 5_000);
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, "reverse", lookup("a"), record());
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, "reverse", lookup("b"), record());
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, "reverse", lookup("c"), record());
+
+        // 대체된 조회는 자리를 바로 비우고, 늦게 온 결과는 버린다
+        started.get(0).onResult("a");
+        started.get(1).onResult("b");
+        finishLatest();
+
+        assertEquals(List.of("a", "b", "c"), startedNames);
+        assertEquals(List.of("c"), delivered);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void supersededQueuedLookupNeverStarts() {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 5_000);
+        scheduler.submit(GeocodeScheduler.Priority.USER, null, lookup("user"), record());
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, "reverse", lookup("old"), record());
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, "reverse", lookup("new"), record());
+
+        finishLatest();
+        finishLatest();
+
+        assertEquals(List.of("user", "new"), startedNames);
+        assertEquals(List.of("user", "new"), delivered);
+    }
+
+    @Test
+    public void cancelledLookupIsNotDelivered() {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 5_000);
+        WeatherRequestCoordinator.Handle first =
+                scheduler.submit(GeocodeScheduler.Priority.USER, null, lookup("first"), record());
+        scheduler.submit(GeocodeScheduler.Priority.USER, null, lookup("second"), record());
+
+        first.cancel();
+        finishLatest();
+
+        assertEquals(List.of("second"), delivered);
+    }
+
+    @Test
+    public void stalledLookupTimesOutAndFreesTheSlot() throws InterruptedException {
+        GeocodeScheduler scheduler = new GeocodeScheduler(timer, Runnable::run, 50);
+        CountDownLatch failed = new CountDownLatch(1);
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, null, lookup("stalled"),
+                new GeocodeScheduler.Completion<String>() {
+                    @Override
+                    public void onResult(String result) {
+                        fail("stalled lookup should not succeed");
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        assertTrue(t instanceof TimeoutException);
+                        failed.countDown();
+                    }
+                });
+        scheduler.submit(GeocodeScheduler.Priority.BACKGROUND, null, lookup("next"), record());
+
+        assertTrue(failed.await(2, TimeUnit.SECONDS));
+        // 늦게 도착한 결과는 무시된다
+        started.get(0).onResult("stalled");
+        finishLatest();
+        assertEquals(List.of("next"), delivered);
+    }
+
+    private GeocodeScheduler.Lookup<String> lookup(String name) {
+        return done -> {
+            startedNames.add(name);
+            started.add(done);
+        };
+    }
+
+    private GeocodeScheduler.Completion<String> record() {
+        return new GeocodeScheduler.Completion<String>() {
+            @Override
+            public void onResult(String result) {
+                delivered.add(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                delivered.add("error:" + t);
+            }
+        };
+    }
+
+    private void finishLatest() {
+        started.get(started.size() - 1).onResult(startedNames.get(startedNames.size() - 1));
+    }
+}
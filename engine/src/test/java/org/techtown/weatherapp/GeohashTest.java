@@ -0,0 +1,24 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GeohashTest {
+    @Test
+    public void encodesKnownPoints() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("wydm9", Geohash.encode(37.5665, 126.9780, 5));
+    }
+
+    @Test
+    public void nearbyPointsShareCell() {
+        assertEquals(Geohash.encode(37.56650, 126.97800, 6), Geohash.encode(37.56700, 126.97850, 6));
+        assertNotEquals(Geohash.encode(37.5665, 126.9780, 6), Geohash.encode(35.1796, 129.0756, 6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidPrecision() {
+        Geohash.encode(0, 0, 0);
+    }
+}
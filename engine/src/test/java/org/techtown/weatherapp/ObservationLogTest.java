@@ -0,0 +1,163 @@
+package org.techtown.weatherapp;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class ObservationLogTest {
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final float DELTA = 1e-3f;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void queriesRangeAsPrimitiveColumns() throws IOException {
+        File file = folder.newFile("a.obs");
+        try (ObservationLog log = new ObservationLog(file, UTC)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(log.append(i * 5 * MINUTE, 10 + i, 9 + i, 50 + i, 1.5f));
+            }
+
+            ObservationSeries series = log.query(10 * MINUTE, 30 * MINUTE);
+
+            assertEquals(4, series.size());
+            assertEquals(10 * MINUTE, series.timeMillis(0));
+            assertEquals(12f, series.temperature(0), DELTA);
+            assertEquals(11f, series.feelsLike(0), DELTA);
+            assertEquals(52, series.humidity(0));
+            assertEquals(1.5f, series.windSpeed(0), DELTA);
+            assertEquals(ObservationLog.RESOLUTION_RAW, series.resolution(0));
+            assertEquals(25 * MINUTE, series.timeMillis(3));
+            assertEquals(0, log.query(100 * MINUTE, 200 * MINUTE).size());
+        }
+        assertEquals(ObservationLog.HEADER_SIZE + 10 * ObservationLog.RECORD_SIZE, file.length());
+    }
+
+    @Test
+    public void dropsRepeatedAndOutOfOrderObservations() throws IOException {
+        try (ObservationLog log = new ObservationLog(folder.newFile("a.obs"), UTC)) {
+            assertTrue(log.append(HOUR, 10, 10, 50, 1));
+            assertFalse(log.append(HOUR, 10, 10, 50, 1));
+            assertFalse(log.append(HOUR + 30_000L, 11, 11, 50, 1));
+            assertFalse(log.append(HOUR - MINUTE, 9, 9, 50, 1));
+            assertTrue(log.append(HOUR + MINUTE, 11, 11, 50, 1));
+
+            assertEquals(2, log.size());
+        }
+    }
+
+    @Test
+    public void reopensAndDiscardsTornRecord() throws IOException {
+        File file = folder.newFile("a.obs");
+        try (ObservationLog log = new ObservationLog(file, UTC)) {
+            for (int i = 0; i < 3; i++) {
+                log.append(i * HOUR, i, i, 40, 0);
+            }
+        }
+        // 쓰다가 끊긴 레코드 흉내
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(raw.length());
+            raw.write(new byte[]{1, 2, 3, 4, 5});
+        }
+
+        try (ObservationLog log = new ObservationLog(file, UTC)) {
+            assertEquals(3, log.size());
+            assertFalse(log.append(2 * HOUR, 0, 0, 0, 0));
+            assertTrue(log.append(3 * HOUR, 3, 3, 40, 0));
+            assertEquals(3f, log.query(3 * HOUR, 4 * HOUR).temperature(0), DELTA);
+        }
+    }
+
+    @Test
+    public void unknownFormatStartsFresh() throws IOException {
+        File file = folder.newFile("a.obs");
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.write(new byte[64]);
+        }
+
+        try (ObservationLog log = new ObservationLog(file, UTC)) {
+            assertEquals(0, log.size());
+            assertTrue(log.append(0, 1, 1, 1, 1));
+        }
+    }
+
+    @Test
+    public void compactionDownsamplesByAge() throws IOException {
+        File file = folder.newFile("a.obs");
+        int perDay = 144;
+        int days = 40;
+        try (ObservationLog log = new ObservationLog(file, UTC)) {
+            // 10분마다 하나, 하루 안에서 기온이 0..143 으로 오른다
+            for (int i = 0; i < perDay * days; i++) {
+                log.append(i * 10 * MINUTE, i % perDay, i % perDay, 50, 2);
+            }
+            long now = days * DAY;
+
+            assertTrue(log.compact(now));
+            assertFalse(log.compact(now));
+
+            ObservationSeries all = log.query(0, now);
+            long samples = 0;
+            int previousResolution = ObservationLog.RESOLUTION_DAILY;
+            for (int i = 0; i < all.size(); i++) {
+                samples += all.sampleCount(i);
+                assertTrue(all.resolution(i) <= previousResolution || i == 0);
+                previousResolution = all.resolution(i);
+            }
+            assertEquals(perDay * days, samples);
+
+            // 30일보다 오래된 것은 하루에 한 점
+            ObservationSeries daily = log.query(0, DAY);
+            assertEquals(1, daily.size());
+            assertEquals(ObservationLog.RESOLUTION_DAILY, daily.resolution(0));
+            assertEquals(perDay, daily.sampleCount(0));
+            assertEquals(71.5f, daily.temperature(0), DELTA);
+            assertEquals(0f, daily.minTemperature(0), DELTA);
+            assertEquals(143f, daily.maxTemperature(0), DELTA);
+
+            // 그 사이는 한 시간에 한 점
+            ObservationSeries hourly = log.query(20 * DAY, 21 * DAY);
+            assertEquals(24, hourly.size());
+            assertEquals(ObservationLog.RESOLUTION_HOURLY, hourly.resolution(0));
+            assertEquals(6, hourly.sampleCount(0));
+            assertEquals(2.5f, hourly.temperature(0), DELTA);
+
+            // 최근 이틀은 원본 그대로
+            ObservationSeries raw = log.query(now - DAY, now);
+            assertEquals(perDay, raw.size());
+            assertEquals(ObservationLog.RESOLUTION_RAW, raw.resolution(0));
+
+            assertEquals(10 + 28 * 24 + 2 * perDay, log.size());
+            assertTrue(log.append(now, 1, 1, 50, 2));
+        }
+    }
+
+    @Test
+    public void historyRecordsPerGridCell() throws IOException {
+        ObservationHistory history = new ObservationHistory(folder.newFolder("observations"),
+                WeatherCache.DEFAULT_GRID_DEGREES, UTC);
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("weather_seoul.json"), WeatherResponse.class);
+
+        assertTrue(history.record(37.5665, 126.9780, response, HOUR));
+        assertFalse(history.record(37.5666, 126.9781, response, HOUR));
+        assertTrue(history.record(35.1796, 129.0756, response, HOUR));
+
+        ObservationSeries seoul = history.query(37.5665, 126.9780, 0, DAY);
+        assertEquals(1, seoul.size());
+        assertEquals((float) response.getMain().getTemp(), seoul.temperature(0), DELTA);
+        assertEquals(0, history.query(0, 0, 0, DAY).size());
+        assertEquals(0, history.compactAll(DAY));
+    }
+}
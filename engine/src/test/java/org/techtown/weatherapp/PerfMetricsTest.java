@@ -0,0 +1,110 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class PerfMetricsTest {
+    @Test
+    public void percentilesFallInPowerOfTwoBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(128, histogram.percentileMicros(50));
+        assertEquals(50_000, histogram.percentileMicros(95));
+        assertEquals(50_000, histogram.maxMicros());
+        assertEquals(5_090, histogram.meanMicros(), 0.001);
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileMicros(99));
+        assertEquals(0, histogram.meanMicros(), 0);
+    }
+
+    @Test
+    public void exportsStagesAndCountersAsJson() {
+        PerfMetrics metrics = new PerfMetrics();
+        metrics.record(PerfMetrics.Stage.GEOCODE, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.increment(PerfMetrics.Counter.WEATHER_CACHE_HIT);
+        metrics.increment(PerfMetrics.Counter.WEATHER_CACHE_HIT);
+
+        JsonObject json = JsonParser.parseString(metrics.toJson()).getAsJsonObject();
+        assertEquals(1, json.getAsJsonObject("stages").getAsJsonObject("GEOCODE").get("count").getAsLong());
+        assertEquals(2, json.getAsJsonObject("counters").get("WEATHER_CACHE_HIT").getAsLong());
+    }
+
+    @Test
+    public void networkCallRecordsTransportAndDecodeStages() throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(WeatherRepositoryTest.readFixture("weather_seoul.json")));
+        server.start();
+        try {
+            PerfMetrics metrics = PerfMetrics.get();
+            long calls = metrics.histogram(PerfMetrics.Stage.API_CALL).count();
+            long firstBytes = metrics.histogram(PerfMetrics.Stage.TTFB).count();
+            long decodes = metrics.histogram(PerfMetrics.Stage.DECODE).count();
+
+            WeatherService service = ApiClient.createWeatherService(server.url("/").toString());
+            assertTrue(service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().isSuccessful());
+
+            assertEquals(calls + 1, metrics.histogram(PerfMetrics.Stage.API_CALL).count());
+            assertEquals(firstBytes + 1, metrics.histogram(PerfMetrics.Stage.TTFB).count());
+            assertEquals(decodes + 1, metrics.histogram(PerfMetrics.Stage.DECODE).count());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void cancelledCallIsNotRecordedAsApiCall() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse()
+                .setBody(WeatherRepositoryTest.readFixture("weather_seoul.json"))
+                .setHeadersDelay(2, TimeUnit.SECONDS));
+        server.start();
+        try {
+            PerfMetrics metrics = PerfMetrics.get();
+            long calls = metrics.histogram(PerfMetrics.Stage.API_CALL).count();
+
+            WeatherService service = ApiClient.createWeatherService(server.url("/").toString());
+            retrofit2.Call<WeatherResponse> call = service.getWeather(37.5, 127.0, "key", "metric", "kr");
+            Thread canceller = new Thread(() -> {
+                try {
+                    server.takeRequest();
+                } catch (InterruptedException ignored) {
+                    return;
+                }
+                call.cancel();
+            });
+            canceller.start();
+            try {
+                call.execute();
+                fail("cancelled call should fail");
+            } catch (IOException expected) {
+                // 취소됨
+            }
+            canceller.join();
+
+            assertEquals(calls, metrics.histogram(PerfMetrics.Stage.API_CALL).count());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
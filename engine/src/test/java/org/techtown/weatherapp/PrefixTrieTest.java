@@ -0,0 +1,46 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PrefixTrieTest {
+    @Test
+    public void findsValuesByPrefixInKeyOrder() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("서울특별시 중구", "jung");
+        trie.put("서울특별시 종로구", "jongno");
+        trie.put("부산광역시 해운대구", "haeundae");
+
+        assertEquals(List.of("jongno", "jung"), trie.search("서울", 10));
+        assertEquals(List.of("haeundae"), trie.search("부산", 10));
+        assertTrue(trie.search("대전", 10).isEmpty());
+    }
+
+    @Test
+    public void wordIndexMatchesAnyWordAndDeduplicates() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.putWords("서울특별시 중구 중림동", "a");
+        trie.putWords("Seoul Station", "b");
+
+        assertEquals(List.of("a"), trie.search("중", 10));
+        assertEquals(List.of("b"), trie.search("station", 10));
+        assertEquals(List.of("b"), trie.search("SEO", 10));
+    }
+
+    @Test
+    public void removeAndLimit() {
+        PrefixTrie<Integer> trie = new PrefixTrie<>();
+        for (int i = 0; i < 100; i++) {
+            trie.put("key" + i, i);
+        }
+        assertEquals(5, trie.search("key", 5).size());
+
+        assertTrue(trie.remove("key42", 42));
+        assertFalse(trie.remove("key42", 42));
+        assertEquals(99, trie.size());
+        assertEquals(List.of(4, 40, 41, 43), trie.search("key4", 4));
+    }
+}
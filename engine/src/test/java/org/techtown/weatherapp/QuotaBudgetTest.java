@@ -0,0 +1,211 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class QuotaBudgetTest {
+    private final AtomicLong now = new AtomicLong(0);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void userRequestsQueueUntilTokensRefill() {
+        QuotaBudget budget = budget(10, 1000);
+        for (int i = 0; i < 10; i++) {
+            budget.acquire(QuotaBudget.Lane.USER, permit("u" + i));
+        }
+        budget.acquire(QuotaBudget.Lane.USER, permit("late"));
+
+        assertEquals(10, events.size());
+        assertEquals(1, budget.queuedCount(QuotaBudget.Lane.USER));
+
+        // 분당 10개 = 6초에 하나
+        now.addAndGet(6_000L);
+        budget.drain();
+
+        assertEquals("late granted", events.get(10));
+        assertEquals(0, budget.queuedCount(QuotaBudget.Lane.USER));
+    }
+
+    @Test
+    public void lowerLanesLeaveReserveForUser() {
+        QuotaBudget budget = budget(10, 1000);
+
+        // BACKGROUND 는 40% 를 남긴다
+        for (int i = 0; i < 8; i++) {
+            budget.acquire(QuotaBudget.Lane.BACKGROUND, permit("b"));
+        }
+        assertEquals(6, countOf("b granted"));
+        assertEquals(2, budget.queuedCount(QuotaBudget.Lane.BACKGROUND));
+        assertFalse(budget.hasHeadroom(QuotaBudget.Lane.BACKGROUND));
+
+        // PREFETCH 는 20% 를 남긴다
+        for (int i = 0; i < 3; i++) {
+            budget.acquire(QuotaBudget.Lane.PREFETCH, permit("p"));
+        }
+        assertEquals(2, countOf("p granted"));
+
+        // 남은 몫은 사용자 요청이 쓴다
+        budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+        budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+        assertEquals(2, countOf("u granted"));
+    }
+
+    @Test
+    public void drainServesHigherLanesFirst() {
+        QuotaBudget budget = budget(10, 1000);
+        for (int i = 0; i < 10; i++) {
+            budget.acquire(QuotaBudget.Lane.USER, permit("fill"));
+        }
+        budget.acquire(QuotaBudget.Lane.BACKGROUND, permit("b"));
+        budget.acquire(QuotaBudget.Lane.PREFETCH, permit("p"));
+        budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+
+        now.addAndGet(6_000L);
+        budget.drain();
+        assertEquals("u granted", events.get(events.size() - 1));
+        assertEquals(0, countOf("p granted"));
+
+        // 한 분이 지나 버킷이 차면 남은 레인도 순서대로 받는다
+        now.addAndGet(60_000L);
+        budget.drain();
+        assertEquals(List.of("u granted", "p granted", "b granted"), events.subList(10, 13));
+    }
+
+    @Test
+    public void newLowPriorityRequestsDoNotJumpQueuedHigherLanes() {
+        QuotaBudget budget = budget(10, 1000);
+        for (int i = 0; i < 10; i++) {
+            budget.acquire(QuotaBudget.Lane.USER, permit("fill"));
+        }
+        budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+
+        // 토큰이 생겨도 사용자 요청이 기다리는 동안 낮은 레인은 바로 받지 못한다
+        now.addAndGet(60_000L);
+        budget.acquire(QuotaBudget.Lane.BACKGROUND, permit("b"));
+
+        assertEquals(0, countOf("b granted"));
+        budget.drain();
+        assertEquals(List.of("u granted", "b granted"), events.subList(10, 12));
+    }
+
+    @Test
+    public void shedsWhenLaneQueueIsFull() {
+        QuotaBudget budget = budget(10, 1000);
+        for (int i = 0; i < 10; i++) {
+            budget.acquire(QuotaBudget.Lane.USER, permit("fill"));
+        }
+        for (int i = 0; i < QuotaBudget.Lane.PREFETCH.maxQueued + 1; i++) {
+            budget.acquire(QuotaBudget.Lane.PREFETCH, permit("p"));
+        }
+
+        assertEquals(QuotaBudget.Lane.PREFETCH.maxQueued, budget.queuedCount(QuotaBudget.Lane.PREFETCH));
+        assertEquals(1, countOf("p rejected"));
+        assertTrue(budget.describe().contains("PREFETCH  granted=0  queued=16  shed=1"));
+    }
+
+    @Test
+    public void shedsLowLanesWhenDailyBudgetIsNearlyGone() {
+        QuotaBudget budget = budget(100, 20);
+        for (int i = 0; i < 20; i++) {
+            budget.acquire(QuotaBudget.Lane.BACKGROUND, permit("b"));
+        }
+
+        // 일일 10% (2개) 는 BACKGROUND 가 쓸 수 없다
+        assertEquals(18, countOf("b granted"));
+        assertEquals(2, countOf("b rejected"));
+        assertEquals(0, budget.queuedCount(QuotaBudget.Lane.BACKGROUND));
+
+        budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+        assertEquals(1, countOf("u granted"));
+    }
+
+    @Test
+    public void canceledWaiterIsNeverGranted() {
+        QuotaBudget budget = budget(10, 1000);
+        for (int i = 0; i < 10; i++) {
+            budget.acquire(QuotaBudget.Lane.USER, permit("fill"));
+        }
+        WeatherRequestCoordinator.Handle handle = budget.acquire(QuotaBudget.Lane.USER, permit("u"));
+
+        handle.cancel();
+        now.addAndGet(60_000L);
+        budget.drain();
+
+        assertEquals(0, countOf("u granted"));
+        assertEquals(0, budget.queuedCount(QuotaBudget.Lane.USER));
+    }
+
+    @Test
+    public void shedCallDoesNotTripBreakerOrRetry() throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"name\":\"Seoul\"}"));
+        server.start();
+        try {
+            QuotaBudget budget = budget(60, 1);
+            CircuitBreaker breaker = new CircuitBreaker(now::get, 1, 30_000L);
+            ResiliencePolicy policy = new ResiliencePolicy(() -> -1, 3, 0, 0, new Random(1));
+            WeatherService delegate = ApiClient.createWeatherService(server.url("/").toString());
+            WeatherService user = new ResilientWeatherService(
+                    new BudgetedWeatherService(delegate, budget, QuotaBudget.Lane.USER), scheduler, breaker, policy);
+            WeatherService background = new ResilientWeatherService(
+                    new BudgetedWeatherService(delegate, budget, QuotaBudget.Lane.BACKGROUND),
+                    scheduler, breaker, policy);
+
+            assertEquals("Seoul", user.getWeather(37.5, 127.0, "k", "metric", "kr").execute().body().getCityName());
+            try {
+                background.getWeather(37.5, 127.0, "k", "metric", "kr").execute();
+                fail("expected the background call to be shed");
+            } catch (QuotaExceededException expected) {
+            }
+
+            assertEquals(1, server.getRequestCount());
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private QuotaBudget budget(int perMinute, int perDay) {
+        return new QuotaBudget(now::get, scheduler, perMinute, perDay);
+    }
+
+    private QuotaBudget.Permit permit(String name) {
+        return new QuotaBudget.Permit() {
+            @Override
+            public void onGranted() {
+                events.add(name + " granted");
+            }
+
+            @Override
+            public void onRejected(QuotaExceededException e) {
+                events.add(name + " rejected");
+            }
+        };
+    }
+
+    private int countOf(String event) {
+        synchronized (events) {
+            return Collections.frequency(events, event);
+        }
+    }
+}
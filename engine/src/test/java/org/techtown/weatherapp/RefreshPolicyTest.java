@@ -0,0 +1,53 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class RefreshPolicyTest {
+    private final AtomicLong now = new AtomicLong(0);
+    private final RefreshPolicy policy = new RefreshPolicy(now::get, 500, 60_000L);
+
+    @Test
+    public void haversineMatchesKnownDistance() {
+        // 서울시청 - 부산시청 약 325km
+        double meters = GeoMath.haversineMeters(37.5665, 126.9780, 35.1796, 129.0756);
+        assertEquals(325_000, meters, 5_000);
+    }
+
+    @Test
+    public void firstFetchIsAlwaysAllowed() {
+        assertTrue(policy.shouldFetch(37.5665, 126.9780, false));
+    }
+
+    @Test
+    public void skipsWhenNearbyAndFresh() {
+        policy.recordFetch(37.5665, 126.9780);
+        now.addAndGet(30_000L);
+
+        // 약 110m 이동
+        assertFalse(policy.shouldFetch(37.5675, 126.9780, false));
+        assertTrue(policy.shouldFetch(37.5675, 126.9780, true));
+    }
+
+    @Test
+    public void fetchesWhenMovedOrStale() {
+        policy.recordFetch(37.5665, 126.9780);
+
+        // 약 1.1km 이동
+        assertTrue(policy.shouldFetch(37.5765, 126.9780, false));
+
+        now.addAndGet(60_000L);
+        assertTrue(policy.shouldFetch(37.5665, 126.9780, false));
+    }
+
+    @Test
+    public void resetForcesNextFetch() {
+        policy.recordFetch(37.5665, 126.9780);
+        policy.reset();
+
+        assertTrue(policy.shouldFetch(37.5665, 126.9780, false));
+    }
+}
@@ -0,0 +1,226 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+public class ResilientCallTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final CircuitBreaker breaker = new CircuitBreaker(now::get, 3, 10_000L);
+    private String body;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        body = WeatherRepositoryTest.readFixture("weather_seoul.json");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        scheduler.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void hedgedRequestWinsOverStalledConnection() throws IOException {
+        server.enqueue(new MockResponse().setBody(body).setHeadersDelay(3, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody(body));
+
+        long start = System.nanoTime();
+        Response<WeatherResponse> response = service(policy(100, 1)).getWeather(
+                37.5, 127.0, "key", "metric", "kr").execute();
+
+        assertTrue(response.isSuccessful());
+        assertEquals(2, server.getRequestCount());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+    }
+
+    @Test
+    public void serverErrorsAreRetried() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody(body));
+
+        Response<WeatherResponse> response = service(policy(-1, 3)).getWeather(
+                37.5, 127.0, "key", "metric", "kr").execute();
+
+        assertTrue(response.isSuccessful());
+        assertEquals("Seoul", response.body().getCityName());
+        assertEquals(3, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void clientErrorsAreNotRetried() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(401));
+
+        Response<WeatherResponse> response = service(policy(-1, 3)).getWeather(
+                37.5, 127.0, "key", "metric", "kr").execute();
+
+        assertEquals(401, response.code());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void openCircuitFailsWithoutNetworkUntilProbeSucceeds() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        WeatherService service = service(policy(-1, 3));
+
+        assertEquals(503, service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().code());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        try {
+            service.getWeather(37.5, 127.0, "key", "metric", "kr").execute();
+            fail("expected CircuitOpenException");
+        } catch (CircuitOpenException expected) {
+            assertEquals(3, server.getRequestCount());
+        }
+
+        now.addAndGet(10_000L);
+        server.enqueue(new MockResponse().setBody(body));
+        assertTrue(service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().isSuccessful());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void cancelledProbeLetsNextCallThrough() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        now.addAndGet(10_000L);
+        server.enqueue(new MockResponse().setBody(body).setHeadersDelay(3, TimeUnit.SECONDS));
+        WeatherService service = service(policy(-1, 1));
+
+        retrofit2.Call<WeatherResponse> probe = service.getWeather(37.5, 127.0, "key", "metric", "kr");
+        probe.enqueue(new retrofit2.Callback<WeatherResponse>() {
+            @Override
+            public void onResponse(retrofit2.Call<WeatherResponse> call, Response<WeatherResponse> response) {
+            }
+
+            @Override
+            public void onFailure(retrofit2.Call<WeatherResponse> call, Throwable t) {
+            }
+        });
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        probe.cancel();
+
+        server.enqueue(new MockResponse().setBody(body));
+        assertTrue(service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().isSuccessful());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void hedgedRoundCountsAsOneFailure() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        CircuitBreaker strict = new CircuitBreaker(now::get, 2, 10_000L);
+        WeatherService service = new ResilientWeatherService(
+                ApiClient.createWeatherService(server.url("/").toString()), scheduler, strict, policy(50, 1));
+
+        assertEquals(503, service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().code());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, strict.getState());
+    }
+
+    @Test
+    public void repositoryServesCacheWhileCircuitIsOpen() throws Exception {
+        server.enqueue(new MockResponse().setBody(body));
+        WeatherRepository repository = new WeatherRepository(service(policy(-1, 1)), "key",
+                new WeatherCache(folder.getRoot()), now::get, Runnable::run, Runnable::run);
+        assertTrue(load(repository).get() instanceof WeatherResponse);
+
+        now.addAndGet(WeatherRepository.DEFAULT_MAX_AGE_MILLIS
+                + WeatherRepository.DEFAULT_STALE_WHILE_REVALIDATE_MILLIS + 1);
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        assertTrue(load(repository).get() instanceof WeatherResponse);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void flakyServerStillAnswersEveryRequest() throws IOException {
+        // 시드 고정: 25% 는 503, 15% 는 2초 지연, 나머지는 즉시 성공
+        Random random = new Random(42);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                double roll;
+                synchronized (random) {
+                    roll = random.nextDouble();
+                }
+                if (roll < 0.25) {
+                    return new MockResponse().setResponseCode(503);
+                } else if (roll < 0.40) {
+                    return new MockResponse().setBody(body).setHeadersDelay(2, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setBody(body);
+            }
+        });
+        CircuitBreaker lenient = new CircuitBreaker(now::get, 100, 10_000L);
+        WeatherService service = new ResilientWeatherService(
+                ApiClient.createWeatherService(server.url("/").toString()), scheduler, lenient,
+                policy(150, 5));
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(service.getWeather(37.5, 127.0, "key", "metric", "kr").execute().isSuccessful());
+        }
+    }
+
+    private ResiliencePolicy policy(long hedgeDelayMillis, int maxAttempts) {
+        return new ResiliencePolicy(() -> hedgeDelayMillis, maxAttempts, 10, 50, new Random(1));
+    }
+
+    private WeatherService service(ResiliencePolicy policy) {
+        return new ResilientWeatherService(ApiClient.createWeatherService(server.url("/").toString()),
+                scheduler, breaker, policy);
+    }
+
+    private AtomicReference<Object> load(WeatherRepository repository) throws InterruptedException {
+        AtomicReference<Object> result = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        repository.load(37.5665, 126.9780, new WeatherRepository.Listener() {
+            @Override
+            public void onWeather(WeatherResponse response, boolean fromCache) {
+                result.set(response);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.set(t);
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+}
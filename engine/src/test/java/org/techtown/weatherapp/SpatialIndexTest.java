@@ -0,0 +1,95 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SpatialIndexTest {
+    @Test
+    public void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        SpatialIndex<Integer> index = new SpatialIndex<>();
+        double[][] points = new double[2000][];
+        for (int i = 0; i < points.length; i++) {
+            // 한반도 주변에 몰려 있는 저장 위치를 흉내 낸다
+            points[i] = new double[]{33 + random.nextDouble() * 5, 125 + random.nextDouble() * 5};
+            index.add(points[i][0], points[i][1], i);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            double lat = 33 + random.nextDouble() * 5;
+            double lon = 125 + random.nextDouble() * 5;
+            int expected = -1;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < points.length; i++) {
+                double d = GeoMath.haversineMeters(lat, lon, points[i][0], points[i][1]);
+                if (d < best) {
+                    best = d;
+                    expected = i;
+                }
+            }
+
+            SpatialIndex.Match<Integer> match = index.nearest(lat, lon, Double.MAX_VALUE);
+            assertEquals(expected, (int) match.value);
+            assertEquals(best, match.distanceMeters, 0.01);
+        }
+    }
+
+    @Test
+    public void nearestRespectsMaximumDistance() {
+        SpatialIndex<String> index = new SpatialIndex<>();
+        index.add(37.5665, 126.9780, "city hall");
+
+        // 약 40m 북쪽
+        assertEquals("city hall", index.nearest(37.56686, 126.9780, 50).value);
+        // 약 1.1km 북쪽
+        assertNull(index.nearest(37.5765, 126.9780, 50));
+    }
+
+    @Test
+    public void radiusQuerySortedByDistanceAndHonorsRemoval() {
+        SpatialIndex<String> index = new SpatialIndex<>();
+        index.add(37.5665, 126.9780, "a");
+        index.add(37.5670, 126.9780, "b");
+        index.add(37.5700, 126.9780, "c");
+        index.add(35.1796, 129.0756, "busan");
+
+        List<String> names = new ArrayList<>();
+        for (SpatialIndex.Match<String> match : index.withinRadius(37.5664, 126.9780, 500)) {
+            names.add(match.value);
+        }
+        assertEquals(List.of("a", "b", "c"), names);
+
+        assertTrue(index.remove("a"));
+        assertEquals("b", index.nearest(37.5664, 126.9780, 500).value);
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void worksAcrossTheDateLine() {
+        SpatialIndex<String> index = new SpatialIndex<>();
+        index.add(0, 179.9995, "east");
+        index.add(0, 170, "far");
+
+        SpatialIndex.Match<String> match = index.nearest(0, -179.9995, 1000);
+        assertEquals("east", match.value);
+        assertTrue(match.distanceMeters < 200);
+    }
+
+    @Test
+    public void staysCorrectAfterManyRemovals() {
+        SpatialIndex<Integer> index = new SpatialIndex<>();
+        for (int i = 0; i < 500; i++) {
+            index.add(37 + i * 0.001, 127, i);
+        }
+        for (int i = 0; i < 490; i++) {
+            index.remove(i);
+        }
+        assertEquals(10, index.size());
+        assertEquals(490, (int) index.nearest(37, 127, Double.MAX_VALUE).value);
+    }
+}
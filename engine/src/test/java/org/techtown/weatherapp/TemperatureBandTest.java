@@ -0,0 +1,29 @@
+package org.techtown.weatherapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TemperatureBandTest {
+    @Test
+    public void boundariesAreInclusive() {
+        assertEquals(TemperatureBand.DEGREE_0, TemperatureBand.forTemperature(-15));
+        assertEquals(TemperatureBand.DEGREE_0, TemperatureBand.forTemperature(0));
+        assertEquals(TemperatureBand.DEGREE_4, TemperatureBand.forTemperature(1));
+        assertEquals(TemperatureBand.DEGREE_5, TemperatureBand.forTemperature(8));
+        assertEquals(TemperatureBand.DEGREE_9, TemperatureBand.forTemperature(9));
+        assertEquals(TemperatureBand.DEGREE_12, TemperatureBand.forTemperature(16));
+        assertEquals(TemperatureBand.DEGREE_17, TemperatureBand.forTemperature(17));
+        assertEquals(TemperatureBand.DEGREE_20, TemperatureBand.forTemperature(22));
+        assertEquals(TemperatureBand.DEGREE_23, TemperatureBand.forTemperature(27));
+        assertEquals(TemperatureBand.DEGREE_28, TemperatureBand.forTemperature(28));
+    }
+
+    @Test
+    public void clothesMatchPreviousRecommendations() {
+        assertEquals("옷추천: 패딩, 두꺼운코트, 목도리, 기모제품",
+                TemperatureBand.forTemperature(4).clothesRecommendation);
+        assertEquals("옷추천: 민소매, 반팔, 반바지, 원피스",
+                TemperatureBand.forTemperature(35).clothesRecommendation);
+    }
+}
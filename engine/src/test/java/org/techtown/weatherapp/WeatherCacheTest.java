@@ -0,0 +1,70 @@
+package org.techtown.weatherapp;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class WeatherCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void memoryKeepsEntriesPrunedFromDisk() throws IOException {
+        WeatherCache cache = new WeatherCache(folder.getRoot());
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("weather_seoul.json"), WeatherResponse.class);
+        int count = WeatherCache.MAX_DISK_ENTRIES * 3;
+
+        for (int i = 0; i < count; i++) {
+            cache.put("key" + i, response, i);
+        }
+
+        assertTrue(diskFiles() <= WeatherCache.MAX_DISK_ENTRIES + WeatherCache.DISK_PRUNE_SLACK);
+        for (int i = 0; i < count; i++) {
+            assertNotNull("key" + i, cache.get("key" + i));
+        }
+    }
+
+    @Test
+    public void memoryIsBoundedSeparately() throws IOException {
+        WeatherCache cache = new WeatherCache(folder.getRoot());
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("weather_seoul.json"), WeatherResponse.class);
+        int count = WeatherCache.MAX_MEMORY_ENTRIES + 10;
+
+        for (int i = 0; i < count; i++) {
+            cache.put("key" + i, response, i);
+        }
+
+        // 디스크를 비우면 메모리에 남은 것만 보인다
+        for (File file : folder.getRoot().listFiles()) {
+            assertTrue(file.delete());
+        }
+        assertNull(cache.get("key0"));
+        assertNotNull(cache.get("key" + (count - 1)));
+    }
+
+    @Test
+    public void overwritingDoesNotGrowDisk() throws IOException {
+        WeatherCache cache = new WeatherCache(folder.getRoot());
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("weather_seoul.json"), WeatherResponse.class);
+
+        for (int i = 0; i < WeatherCache.MAX_DISK_ENTRIES * 2; i++) {
+            // 매번 새 응답 객체여야 같은 응답 건너뛰기에 걸리지 않는다
+            cache.put("same", WeatherJson.GSON.fromJson(WeatherJson.GSON.toJson(response), WeatherResponse.class), i);
+        }
+
+        assertEquals(1, diskFiles());
+    }
+
+    private int diskFiles() {
+        File[] files = folder.getRoot().listFiles((dir, name) -> name.endsWith(WeatherCache.FILE_SUFFIX));
+        return files != null ? files.length : 0;
+    }
+}
@@ -0,0 +1,92 @@
+package org.techtown.weatherapp;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeatherJsonTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void streamingAdapterMatchesReflectiveDecoding() {
+        String json = WeatherRepositoryTest.readFixture("weather_seoul.json");
+
+        WeatherResponse expected = new Gson().fromJson(json, WeatherResponse.class);
+        WeatherResponse actual = WeatherJson.GSON.fromJson(json, WeatherResponse.class);
+
+        assertSameWeather(expected, actual);
+        assertEquals(1835848L, actual.getCityId());
+        assertEquals("맑음", actual.getWeather().get(0).getDescription());
+    }
+
+    @Test
+    public void roundTripsThroughWriter() {
+        String json = WeatherRepositoryTest.readFixture("weather_seoul.json");
+        WeatherResponse original = WeatherJson.GSON.fromJson(json, WeatherResponse.class);
+
+        WeatherResponse copy = WeatherJson.GSON.fromJson(WeatherJson.GSON.toJson(original), WeatherResponse.class);
+
+        assertSameWeather(original, copy);
+    }
+
+    @Test
+    public void toleratesNullsAndMissingSections() {
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                "{\"name\":null,\"main\":{\"temp\":null,\"humidity\":40},\"extra\":[1,{\"a\":2}]}",
+                WeatherResponse.class);
+
+        assertNull(response.getCityName());
+        assertEquals(0, response.getMain().getTemp(), DELTA);
+        assertEquals(40, response.getMain().getHumidity());
+        assertTrue(response.getWeather().isEmpty());
+        assertNull(response.getWind());
+    }
+
+    @Test
+    public void forecastToleratesNullSections() {
+        ForecastSeries series = WeatherJson.GSON.fromJson("{\"cnt\":3,\"list\":["
+                + "{\"dt\":1000,\"main\":null,\"weather\":null,\"wind\":null},"
+                + "{\"dt\":2000,\"main\":{\"temp\":5.5},\"weather\":[null],\"wind\":{\"speed\":1.5}},"
+                + "{\"dt\":3000,\"main\":{\"temp\":6.5},\"weather\":[{\"description\":\"맑음\"}]}"
+                + "]}", ForecastSeries.class);
+
+        assertEquals(3, series.size());
+        assertEquals(1_000_000L, series.timeMillis(0));
+        assertEquals(0, series.temperature(0), DELTA);
+        assertEquals(0, series.windSpeed(0), DELTA);
+        assertEquals(5.5f, series.temperature(1), DELTA);
+        assertEquals(1.5f, series.windSpeed(1), DELTA);
+        assertEquals("맑음", series.description(2));
+    }
+
+    @Test
+    public void decodesGroupResponse() {
+        String item = WeatherRepositoryTest.readFixture("weather_seoul.json").trim();
+        WeatherGroupResponse group = WeatherJson.GSON.fromJson(
+                "{\"cnt\":2,\"list\":[" + item + "," + item + "]}", WeatherGroupResponse.class);
+
+        assertEquals(2, group.getCount());
+        assertEquals(2, group.getList().size());
+        assertEquals("Seoul", group.getList().get(1).getCityName());
+    }
+
+    static void assertSameWeather(WeatherResponse expected, WeatherResponse actual) {
+        assertEquals(expected.getCityId(), actual.getCityId());
+        assertEquals(expected.getCityName(), actual.getCityName());
+        assertEquals(expected.getMain().getTemp(), actual.getMain().getTemp(), DELTA);
+        assertEquals(expected.getMain().getFeelsLike(), actual.getMain().getFeelsLike(), DELTA);
+        assertEquals(expected.getMain().getHumidity(), actual.getMain().getHumidity());
+        assertEquals(expected.getMain().getPressure(), actual.getMain().getPressure());
+        assertEquals(expected.getWind().getSpeed(), actual.getWind().getSpeed(), DELTA);
+        assertEquals(expected.getWeather().size(), actual.getWeather().size());
+        for (int i = 0; i < expected.getWeather().size(); i++) {
+            assertEquals(expected.getWeather().get(i).getId(), actual.getWeather().get(i).getId());
+            assertEquals(expected.getWeather().get(i).getMain(), actual.getWeather().get(i).getMain());
+            assertEquals(expected.getWeather().get(i).getDescription(),
+                    actual.getWeather().get(i).getDescription());
+            assertEquals(expected.getWeather().get(i).getIcon(), actual.getWeather().get(i).getIcon());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class WeatherRepositoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private WeatherRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        repository = newRepository(new WeatherCache(folder.getRoot()));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void freshEntryIsServedWithoutNetwork() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+
+        List<Boolean> first = load(37.5665, 126.9780, 1);
+        assertEquals(Boolean.FALSE, first.get(0));
+
+        now.addAndGet(60_000L);
+        // 약 100m 떨어진 좌표도 같은 격자 칸을 쓴다
+        List<Boolean> second = load(37.5670, 126.9785, 1);
+        assertEquals(Boolean.TRUE, second.get(0));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void forcedLoadSkipsFreshEntry() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+
+        load(37.5665, 126.9780, 1);
+        now.addAndGet(60_000L);
+
+        List<Boolean> results = load(37.5665, 126.9780, true, 1);
+        assertEquals(Boolean.FALSE, results.get(0));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void forcedLoadFallsBackToCacheWhenNetworkFails() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        load(37.5665, 126.9780, 1);
+
+        List<Boolean> results = load(37.5665, 126.9780, true, 1);
+        assertEquals(Boolean.TRUE, results.get(0));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void staleEntryIsServedThenRevalidated() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+
+        load(37.5665, 126.9780, 1);
+        now.addAndGet(WeatherRepository.DEFAULT_MAX_AGE_MILLIS + 1);
+
+        List<Boolean> results = load(37.5665, 126.9780, 2);
+        assertEquals(Boolean.TRUE, results.get(0));
+        assertEquals(Boolean.FALSE, results.get(1));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void diskEntrySurvivesNewCacheInstance() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+        load(37.5665, 126.9780, 1);
+
+        repository = newRepository(new WeatherCache(folder.getRoot()));
+        List<Boolean> results = load(37.5665, 126.9780, 1);
+        assertEquals(Boolean.TRUE, results.get(0));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void expiredEntryIsUsedWhenNetworkFails() throws Exception {
+        server.enqueue(new MockResponse().setBody(readFixture("weather_seoul.json")));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        load(37.5665, 126.9780, 1);
+        now.addAndGet(WeatherRepository.DEFAULT_MAX_AGE_MILLIS
+                + WeatherRepository.DEFAULT_STALE_WHILE_REVALIDATE_MILLIS + 1);
+
+        List<Boolean> results = load(37.5665, 126.9780, 1);
+        assertEquals(Boolean.TRUE, results.get(0));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private WeatherRepository newRepository(WeatherCache cache) {
+        return new WeatherRepository(
+                ApiClient.createWeatherService(server.url("/").toString()),
+                "test-key",
+                cache,
+                now::get,
+                Runnable::run,
+                Runnable::run
+        );
+    }
+
+    private List<Boolean> load(double latitude, double longitude, int expected) throws InterruptedException {
+        return load(latitude, longitude, false, expected);
+    }
+
+    private List<Boolean> load(double latitude, double longitude, boolean forceNetwork, int expected)
+            throws InterruptedException {
+        List<Boolean> fromCache = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(expected);
+        repository.load(latitude, longitude, forceNetwork, new WeatherRepository.Listener() {
+            @Override
+            public void onWeather(WeatherResponse response, boolean cached) {
+                assertEquals("Seoul", response.getCityName());
+                fromCache.add(cached);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail("unexpected error: " + t);
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return fromCache;
+    }
+
+    static String readFixture(String name) {
+        InputStream stream = WeatherRepositoryTest.class.getClassLoader().getResourceAsStream(name);
+        assertNotNull(name, stream);
+        try (Scanner scanner = new Scanner(stream, StandardCharsets.UTF_8.name())) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.techtown.weatherapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class WeatherRequestCoordinatorTest {
+    private final MockWebServer server = new MockWebServer();
+    private WeatherRequestCoordinator coordinator;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        coordinator = new WeatherRequestCoordinator(
+                ApiClient.createWeatherService(server.url("/").toString()),
+                "test-key",
+                WeatherCache.DEFAULT_GRID_DEGREES);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void identicalRequestsShareOneCall() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody(WeatherRepositoryTest.readFixture("weather_seoul.json"))
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        CountDownLatch latch = new CountDownLatch(3);
+        AtomicInteger successes = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            coordinator.request(37.5665 + i * 0.0005, 126.9780, new CountingListener(latch, successes));
+        }
+        assertEquals(1, coordinator.inFlightCount());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, successes.get());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, coordinator.inFlightCount());
+    }
+
+    @Test
+    public void callIsCancelledWhenLastListenerLeaves() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody(WeatherRepositoryTest.readFixture("weather_seoul.json"))
+                .setHeadersDelay(2, TimeUnit.SECONDS));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        WeatherRequestCoordinator.Handle first =
+                coordinator.request(37.5665, 126.9780, new CountingListener(latch, successes));
+        WeatherRequestCoordinator.Handle second =
+                coordinator.request(37.5665, 126.9780, new CountingListener(latch, successes));
+
+        first.cancel();
+        assertEquals(1, coordinator.inFlightCount());
+        second.cancel();
+        assertEquals(0, coordinator.inFlightCount());
+
+        assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(0, successes.get());
+    }
+
+    private static final class CountingListener implements WeatherRequestCoordinator.Listener {
+        private final CountDownLatch latch;
+        private final AtomicInteger successes;
+
+        CountingListener(CountDownLatch latch, AtomicInteger successes) {
+            this.latch = latch;
+            this.successes = successes;
+        }
+
+        @Override
+        public void onSuccess(WeatherResponse response) {
+            successes.incrementAndGet();
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.techtown.weatherapp;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.junit.Assert.*;
+
+public class WeatherSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsThroughFile() throws Exception {
+        WeatherResponse response = WeatherJson.GSON.fromJson(
+                WeatherRepositoryTest.readFixture("weather_seoul.json"), WeatherResponse.class);
+        File file = new File(folder.getRoot(), "last_weather.bin");
+
+        WeatherSnapshot.from(response, "서울특별시 중구", 42L).write(file);
+        WeatherSnapshot read = WeatherSnapshot.read(file);
+
+        assertNotNull(read);
+        assertEquals(18.76, read.temperature, 1e-9);
+        assertEquals(18.12, read.feelsLike, 1e-9);
+        assertEquals(55, read.humidity);
+        assertEquals("맑음", read.description);
+        assertEquals("01d", read.iconCode);
+        assertEquals("서울특별시 중구", read.cityName);
+        assertEquals(42L, read.savedAt);
+    }
+
+    @Test
+    public void missingOrCorruptFileReadsAsNull() throws Exception {
+        File file = new File(folder.getRoot(), "last_weather.bin");
+        assertNull(WeatherSnapshot.read(file));
+
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{0, 0, 0, 1, 2});
+        }
+        assertNull(WeatherSnapshot.read(file));
+    }
+}
@@ -0,0 +1,20 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":engine"))
+    // 로컬 스텁 서버
+    implementation("com.squareup.okhttp3:mockwebserver:3.14.9")
+}
+
+// ./gradlew :loadtest:run --args="--requests 20000 --locations 5000 --concurrency 64"
+// 옵션 목록은 --args="--help"
+application {
+    mainClass.set("org.techtown.weatherapp.LoadTest")
+}
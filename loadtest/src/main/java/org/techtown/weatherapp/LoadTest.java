@@ -0,0 +1,396 @@
+package org.techtown.weatherapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ServerSocketFactory;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 로컬 스텁 서버를 상대로 엔진(WeatherRepository → WeatherRequestCoordinator → Retrofit)에
+ * 합성 좌표 요청을 정해진 동시성으로 보내고 처리량, 지연 백분위수, 할당률을 출력한다.
+ * 캐시나 동시성 관련 변경을 출시 전에 같은 조건으로 비교할 때 쓴다.
+ */
+public final class LoadTest {
+    // 합성 좌표를 뽑는 범위 (대한민국 남한 부근)
+    private static final double MIN_LATITUDE = 33.0;
+    private static final double MAX_LATITUDE = 38.6;
+    private static final double MIN_LONGITUDE = 124.6;
+    private static final double MAX_LONGITUDE = 131.9;
+    // 스텁 서버 스레드는 할당량 집계에서 뺀다
+    private static final String STUB_THREAD_PREFIX = "MockWebServer";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.println(Options.USAGE);
+            return;
+        }
+
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new StubWeatherDispatcher(options.latencyMillis));
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.start();
+        File cacheDir = createTempDirectory();
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(options.ioThreads);
+        try {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), options.concurrency));
+            dispatcher.setMaxRequestsPerHost(options.maxRequestsPerHost);
+            OkHttpClient client = ApiClient.buildHttpClient().newBuilder().dispatcher(dispatcher).build();
+            WeatherService service = ApiClient.createWeatherService(server.url("/").toString(), client);
+
+            WeatherCache cache = new WeatherCache(cacheDir, options.gridDegrees);
+            WeatherRepository repository = new WeatherRepository(service, "loadtest", cache, TimeSource.SYSTEM,
+                    ioExecutor, Runnable::run, options.maxAgeMillis, options.staleMillis);
+
+            Random random = new Random(options.seed);
+            // 워밍업은 측정에 쓰지 않는 좌표로 해서 측정 구간의 캐시 상태를 건드리지 않는다
+            run(repository, coordinates(random, options.locations), options.warmup, options.concurrency, random);
+
+            PerfMetrics.get().reset();
+            int serverRequestsBefore = server.getRequestCount();
+            long allocatedBefore = allocatedBytes();
+            long[] gcBefore = gcTotals();
+
+            Run result = run(repository, coordinates(random, options.locations), options.requests,
+                    options.concurrency, random);
+
+            long allocated = allocatedBefore >= 0 ? allocatedBytes() - allocatedBefore : -1;
+            long[] gcAfter = gcTotals();
+            report(options, result, server.getRequestCount() - serverRequestsBefore, allocated,
+                    gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        } finally {
+            ioExecutor.shutdownNow();
+            server.shutdown();
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    private static Run run(WeatherRepository repository, double[][] coordinates, int requests,
+                           int concurrency, Random random) throws InterruptedException {
+        Semaphore slots = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            slots.acquire();
+            int index = random.nextInt(coordinates[0].length);
+            int slot = i;
+            long requestedAt = System.nanoTime();
+            AtomicBoolean completed = new AtomicBoolean();
+            repository.load(coordinates[0][index], coordinates[1][index], new WeatherRepository.Listener() {
+                @Override
+                public void onWeather(WeatherResponse response, boolean fromCache) {
+                    finish(false);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    finish(true);
+                }
+
+                // 오래된 캐시 뒤 새 응답처럼 두 번 불려도 첫 응답만 센다
+                private void finish(boolean failed) {
+                    if (!completed.compareAndSet(false, true)) {
+                        return;
+                    }
+                    latencies[slot] = System.nanoTime() - requestedAt;
+                    if (failed) {
+                        errors.incrementAndGet();
+                    }
+                    slots.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return new Run(latencies, errors.get(), System.nanoTime() - startedAt);
+    }
+
+    private static void report(Options options, Run run, int serverRequests, long allocatedBytes,
+                               long gcCount, long gcMillis) {
+        long[] sorted = run.latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = run.elapsedNanos / 1e9;
+        int requests = sorted.length;
+        PerfMetrics metrics = PerfMetrics.get();
+
+        System.out.printf(Locale.US, "requests     %d (errors %d), concurrency %d, %d locations%n",
+                requests, run.errors, options.concurrency, options.locations);
+        System.out.printf(Locale.US, "duration     %.2f s%n", seconds);
+        System.out.printf(Locale.US, "throughput   %.1f req/s%n", requests / seconds);
+        System.out.printf(Locale.US, "latency ms   p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentileMillis(sorted, 50), percentileMillis(sorted, 90), percentileMillis(sorted, 99),
+                percentileMillis(sorted, 99.9), sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0);
+        System.out.printf(Locale.US, "cache        hit %d  stale %d  miss %d%n",
+                metrics.count(PerfMetrics.Counter.WEATHER_CACHE_HIT),
+                metrics.count(PerfMetrics.Counter.WEATHER_CACHE_STALE_HIT),
+                metrics.count(PerfMetrics.Counter.WEATHER_CACHE_MISS));
+        System.out.printf(Locale.US, "server       %d requests (%.1f%% of loads)%n",
+                serverRequests, requests > 0 ? 100.0 * serverRequests / requests : 0);
+        if (allocatedBytes >= 0) {
+            System.out.printf(Locale.US, "allocation   %.1f MB/s, %.1f KB/request%n",
+                    allocatedBytes / 1e6 / seconds, requests > 0 ? allocatedBytes / 1e3 / requests : 0);
+        } else {
+            System.out.println("allocation   (not supported by this JVM)");
+        }
+        System.out.printf(Locale.US, "gc           %d collections, %d ms%n", gcCount, gcMillis);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+    }
+
+    // [0] 위도, [1] 경도
+    private static double[][] coordinates(Random random, int count) {
+        double[][] coordinates = new double[2][count];
+        for (int i = 0; i < count; i++) {
+            coordinates[0][i] = MIN_LATITUDE + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE);
+            coordinates[1][i] = MIN_LONGITUDE + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE);
+        }
+        return coordinates;
+    }
+
+    // 스텁 서버를 뺀 살아 있는 스레드들이 지금까지 할당한 바이트 수. 지원하지 않으면 -1
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && allocated[i] > 0 && !infos[i].getThreadName().startsWith(STUB_THREAD_PREFIX)) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+
+    // [0] 횟수, [1] 누적 시간 (ms)
+    private static long[] gcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, gc.getCollectionCount());
+            totals[1] += Math.max(0, gc.getCollectionTime());
+        }
+        return totals;
+    }
+
+    private static File createTempDirectory() throws IOException {
+        File directory = File.createTempFile("weather-loadtest", "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        return directory;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    // MockWebServer 는 헤더와 본문을 따로 flush 하므로 Nagle 과 지연 ACK 가 겹쳐 응답마다 수십 ms 가 더해진다.
+    // 엔진이 아니라 스텁의 지연이므로 받은 소켓에 TCP_NODELAY 를 켠다
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+        // java.net.ServerSocket 의 기본 backlog
+        private static final int DEFAULT_BACKLOG = 50;
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = new Socket();
+                    implAccept(socket);
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return createServerSocket(port, DEFAULT_BACKLOG, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return createServerSocket(port, backlog, null);
+        }
+
+        // address 가 null 이면 모든 주소에 바인드한다 (ServerSocket 생성자와 같다)
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            ServerSocket socket = createServerSocket();
+            try {
+                socket.bind(new InetSocketAddress(address, port), backlog);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+            return socket;
+        }
+    }
+
+    private static final class Run {
+        final long[] latencies;
+        final int errors;
+        final long elapsedNanos;
+
+        Run(long[] latencies, int errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    static final class Options {
+        static final String USAGE = "usage: LoadTest [options]\n"
+                + "  --requests N          측정할 요청 수 (기본 20000)\n"
+                + "  --warmup N            워밍업 요청 수 (기본 2000)\n"
+                + "  --locations N         합성 좌표 수 (기본 5000)\n"
+                + "  --concurrency N       동시에 진행 중인 요청 수 (기본 32)\n"
+                + "  --max-per-host N      OkHttp 호스트당 동시 요청 수 (기본 앱과 같은 "
+                + ApiClient.MAX_REQUESTS_PER_HOST + ")\n"
+                + "  --io-threads N        캐시 입출력 스레드 수 (기본 1, 앱과 같음)\n"
+                + "  --latency-ms N        스텁 서버 응답 지연 (기본 20)\n"
+                + "  --grid DEGREES        캐시 격자 크기 (기본 " + WeatherCache.DEFAULT_GRID_DEGREES + ")\n"
+                + "  --max-age-s N         캐시를 그대로 쓰는 시간 (기본 "
+                + WeatherRepository.DEFAULT_MAX_AGE_MILLIS / 1000 + ")\n"
+                + "  --stale-s N           오래된 캐시를 먼저 보여 주는 시간 (기본 "
+                + WeatherRepository.DEFAULT_STALE_WHILE_REVALIDATE_MILLIS / 1000 + ")\n"
+                + "  --seed N              좌표/순서 난수 시드 (기본 1)";
+
+        int requests = 20_000;
+        int warmup = 2_000;
+        int locations = 5_000;
+        int concurrency = 32;
+        int maxRequestsPerHost = ApiClient.MAX_REQUESTS_PER_HOST;
+        int ioThreads = 1;
+        long latencyMillis = 20;
+        double gridDegrees = WeatherCache.DEFAULT_GRID_DEGREES;
+        long maxAgeMillis = WeatherRepository.DEFAULT_MAX_AGE_MILLIS;
+        long staleMillis = WeatherRepository.DEFAULT_STALE_WHILE_REVALIDATE_MILLIS;
+        long seed = 1;
+
+        /** --help 이면 null. */
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (name.equals("--help") || name.equals("-h")) {
+                    return null;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                String value = args[++i];
+                try {
+                    switch (name) {
+                        case "--requests":
+                            options.requests = positive(name, Integer.parseInt(value));
+                            break;
+                        case "--warmup":
+                            options.warmup = Math.max(0, Integer.parseInt(value));
+                            break;
+                        case "--locations":
+                            options.locations = positive(name, Integer.parseInt(value));
+                            break;
+                        case "--concurrency":
+                            options.concurrency = positive(name, Integer.parseInt(value));
+                            break;
+                        case "--max-per-host":
+                            options.maxRequestsPerHost = positive(name, Integer.parseInt(value));
+                            break;
+                        case "--io-threads":
+                            options.ioThreads = positive(name, Integer.parseInt(value));
+                            break;
+                        case "--latency-ms":
+                            options.latencyMillis = Math.max(0, Long.parseLong(value));
+                            break;
+                        case "--grid":
+                            options.gridDegrees = Double.parseDouble(value);
+                            if (!(options.gridDegrees > 0)) {
+                                throw new IllegalArgumentException(name + " must be > 0");
+                            }
+                            break;
+                        case "--max-age-s":
+                            options.maxAgeMillis = Math.max(0, Long.parseLong(value)) * 1000L;
+                            break;
+                        case "--stale-s":
+                            options.staleMillis = Math.max(0, Long.parseLong(value)) * 1000L;
+                            break;
+                        case "--seed":
+                            options.seed = Long.parseLong(value);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown option " + name);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+                }
+            }
+            return options;
+        }
+
+        private static int positive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be > 0");
+            }
+            return value;
+        }
+    }
+}
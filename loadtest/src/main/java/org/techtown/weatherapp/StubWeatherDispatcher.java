@@ -0,0 +1,56 @@
+package org.techtown.weatherapp;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * /weather 요청에 좌표에 맞춘 OpenWeather 형식 응답을 돌려주는 스텁.
+ * 서버 처리 시간은 응답 헤더를 latencyMillis 만큼 늦춰 흉내 낸다.
+ */
+final class StubWeatherDispatcher extends Dispatcher {
+    private static final String BODY = "{\"coord\":{\"lon\":%.4f,\"lat\":%.4f},"
+            + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"맑음\",\"icon\":\"01d\"}],"
+            + "\"base\":\"stations\",\"main\":{\"temp\":%.2f,\"feels_like\":%.2f,\"temp_min\":%.2f,"
+            + "\"temp_max\":%.2f,\"pressure\":1021,\"humidity\":%d,\"sea_level\":1021,\"grnd_level\":1015},"
+            + "\"visibility\":10000,\"wind\":{\"speed\":2.57,\"deg\":270,\"gust\":4.12},\"clouds\":{\"all\":0},"
+            + "\"dt\":1760680800,\"sys\":{\"type\":1,\"id\":8105,\"country\":\"KR\",\"sunrise\":1760649993,"
+            + "\"sunset\":1760690327},\"timezone\":32400,\"id\":1835848,\"name\":\"Stub\",\"cod\":200}";
+
+    private final long latencyMillis;
+
+    StubWeatherDispatcher(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        if (url == null || !url.encodedPath().endsWith("/weather")) {
+            return new MockResponse().setResponseCode(404);
+        }
+
+        double latitude = parse(url.queryParameter("lat"));
+        double longitude = parse(url.queryParameter("lon"));
+        // 남쪽일수록 따뜻하게
+        double temperature = 30 - (latitude - 33) * 3;
+        String body = String.format(Locale.US, BODY, longitude, latitude, temperature, temperature - 0.6,
+                temperature - 1, temperature + 1, 40 + (int) Math.abs(longitude * 10) % 50);
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body)
+                .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static double parse(String value) {
+        try {
+            return value != null ? Double.parseDouble(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -21,4 +21,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "WeatherApp"
 include(":app")
+include(":engine")
+include(":benchmark")
+include(":loadtest")
  
\ No newline at end of file